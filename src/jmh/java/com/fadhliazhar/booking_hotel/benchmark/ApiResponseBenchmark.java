@@ -0,0 +1,87 @@
+package com.fadhliazhar.booking_hotel.benchmark;
+
+import com.fadhliazhar.booking_hotel.config.JacksonConfig;
+import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.common.PageResponseDTO;
+import com.fadhliazhar.booking_hotel.util.ApiResponse;
+import com.fadhliazhar.booking_hotel.util.PageUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a booking page response and writing it as the API envelope with the application's ObjectMapper.
+ * The serialized size is reported as the {@code bytes} counter of {@code serializedSize}, a single cold call
+ * whose time is not meant to be read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Pageable pageable;
+    private List<BookingResponseDTO> content;
+    private ApiResponse<PageResponseDTO<BookingResponseDTO>> response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new JacksonConfig().objectMapper();
+        pageable = PageRequest.of(3, pageSize, Sort.by(Sort.Direction.DESC, "checkedInDate"));
+        content = BenchmarkFixtures.bookingResponses(pageSize);
+        response = ApiResponse.success("Bookings retrieved successfully", createPageResponse());
+    }
+
+    @Benchmark
+    public PageResponseDTO<BookingResponseDTO> createPageResponse() {
+        return PageUtil.createPageResponse(content, pageable, 10_000);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public byte[] serializedSize(SerializedSize size) throws JsonProcessingException {
+        byte[] bytes = serialize();
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    /**
+     * Size of the serialized response; a single call, as event counters add up across iterations
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SerializedSize {
+        public long bytes;
+    }
+}
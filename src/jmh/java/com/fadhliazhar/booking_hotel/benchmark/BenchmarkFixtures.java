@@ -0,0 +1,79 @@
+package com.fadhliazhar.booking_hotel.benchmark;
+
+import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.model.Room;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic entities and DTOs shared by the benchmarks, shaped like typical production rows
+ */
+final class BenchmarkFixtures {
+    static final LocalDate CHECK_IN = LocalDate.of(2025, 3, 14);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Room room(long id) {
+        Room room = new Room();
+        room.setId(id);
+        room.setRoomNumber(1000 + (int) id);
+        room.setRoomPrice(BigDecimal.valueOf(80 + id % 400).setScale(2));
+        room.setAdultCapacity(1 + (int) (id % 4));
+        room.setChildrenCapacity((int) (id % 3));
+        room.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 30));
+        room.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 14, 0));
+        return room;
+    }
+
+    static List<Room> rooms(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(BenchmarkFixtures::room).toList();
+    }
+
+    static Booking booking(long id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setFirstName("Alexandra");
+        booking.setLastName("Montgomery-Smith");
+        booking.setCheckedInDate(CHECK_IN);
+        booking.setCheckedOutDate(CHECK_IN.plusDays(1 + id % 6));
+        booking.setAdultCapacity(2);
+        booking.setChildrenCapacity(1);
+        booking.setRoom(room(42));
+        booking.setBookingStatus(BookingStatus.BOOKED);
+        booking.setUserId("user-" + id % 200);
+        return booking;
+    }
+
+    static BookingSummaryRow bookingRow(long id) {
+        return new BookingSummaryRow(id, "Alexandra", "Montgomery-Smith", CHECK_IN, CHECK_IN.plusDays(1 + id % 6),
+                2, 1, 42L, 1042, BookingStatus.BOOKED, "user-" + id % 200);
+    }
+
+    static BookingResponseDTO bookingResponse(long id) {
+        BookingResponseDTO booking = new BookingResponseDTO();
+        booking.setId(id);
+        booking.setFirstName("Alexandra");
+        booking.setLastName("Montgomery-Smith");
+        booking.setCheckedInDate(CHECK_IN);
+        booking.setCheckedOutDate(CHECK_IN.plusDays(4));
+        booking.setAdultCapacity(2);
+        booking.setChildrenCapacity(1);
+        booking.setNight(4);
+        booking.setRoomId(42L);
+        booking.setRoomNumber(1204);
+        booking.setBookingStatus(BookingStatus.BOOKED);
+        return booking;
+    }
+
+    static List<BookingResponseDTO> bookingResponses(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(id -> bookingResponse((long) id)).toList();
+    }
+}
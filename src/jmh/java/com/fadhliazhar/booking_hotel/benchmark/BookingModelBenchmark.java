@@ -0,0 +1,47 @@
+package com.fadhliazhar.booking_hotel.benchmark;
+
+import com.fadhliazhar.booking_hotel.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Night count and total amount calculation, run on every booking save and every entity mapping
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingModelBenchmark {
+
+    private Booking booking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        booking = BenchmarkFixtures.booking(123456L);
+    }
+
+    @Benchmark
+    public int getNight() {
+        return booking.getNight();
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        booking.calculateTotalAmount();
+        return booking.getTotalAmount();
+    }
+}
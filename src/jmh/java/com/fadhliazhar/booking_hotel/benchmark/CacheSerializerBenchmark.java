@@ -0,0 +1,127 @@
+package com.fadhliazhar.booking_hotel.benchmark;
+
+import com.fadhliazhar.booking_hotel.config.CompactRedisSerializer;
+import com.fadhliazhar.booking_hotel.dto.booking.CachedBooking;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.mapper.RoomMapper;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compact cache serializers with the JSON serializers CacheConfig used before:
+ * the default-typed Jackson2JsonRedisSerializer (booking details) and GenericJackson2JsonRedisSerializer.
+ * Payloads are a booking details entry and a room list the size of a typical hotel.
+ * Serialized sizes are reported as the {@code bytes} counter of {@code serializedSize}, a single cold call
+ * whose time is not meant to be read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"typedJson", "genericJson", "compactJson", "smile", "smileLz4"})
+    private String serializer;
+
+    @Param({"bookingDetail", "roomList"})
+    private String payload;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Object value;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TypeFactory typeFactory = TypeFactory.defaultInstance();
+        JavaType type = switch (payload) {
+            case "bookingDetail" -> typeFactory.constructType(CachedBooking.class);
+            case "roomList" -> typeFactory.constructCollectionType(List.class, RoomResponseDTO.class);
+            default -> throw new IllegalArgumentException(payload);
+        };
+        value = switch (payload) {
+            case "bookingDetail" -> new CachedBooking("user-42", BenchmarkFixtures.bookingResponse(123456L));
+            default -> new RoomMapper().toResponseDTOs(BenchmarkFixtures.rooms(150));
+        };
+        redisSerializer = switch (serializer) {
+            case "typedJson" -> new Jackson2JsonRedisSerializer<>(legacyTypedMapper(), type);
+            case "genericJson" -> legacyGenericSerializer();
+            case "compactJson" -> new CompactRedisSerializer<>(CompactRedisSerializer.jsonMapper(), type, 0);
+            case "smile" -> new CompactRedisSerializer<>(CompactRedisSerializer.smileMapper(), type, 0);
+            case "smileLz4" -> new CompactRedisSerializer<>(CompactRedisSerializer.smileMapper(), type, 1);
+            default -> throw new IllegalArgumentException(serializer);
+        };
+
+        serialized = redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public byte[] serializedSize(SerializedSize size) {
+        byte[] bytes = serialize();
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return redisSerializer.deserialize(serialized);
+    }
+
+    private static RedisSerializer<Object> legacyGenericSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    private static ObjectMapper legacyTypedMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        return objectMapper;
+    }
+
+    /**
+     * Size of the serialized value; a single call, as event counters add up across iterations
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SerializedSize {
+        public long bytes;
+    }
+}
@@ -0,0 +1,80 @@
+package com.fadhliazhar.booking_hotel.benchmark;
+
+import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.mapper.BookingMapper;
+import com.fadhliazhar.booking_hotel.mapper.RoomMapper;
+import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.Room;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and projection to DTO mapping on the booking and room read paths.
+ * The booking entity has its room loaded, so the mapper never falls back to the repository. The room count
+ * parameter lives on its own state, so it only multiplies the room list benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private BookingMapper bookingMapper;
+    private RoomMapper roomMapper;
+    private Booking booking;
+    private BookingSummaryRow bookingRow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookingMapper = new BookingMapper(null);
+        roomMapper = new RoomMapper();
+        booking = BenchmarkFixtures.booking(123456L);
+        bookingRow = BenchmarkFixtures.bookingRow(123456L);
+    }
+
+    @Benchmark
+    public BookingResponseDTO bookingToResponseDTO() {
+        return bookingMapper.toResponseDTO(booking);
+    }
+
+    @Benchmark
+    public BookingResponseDTO bookingSummaryToResponseDTO() {
+        return bookingMapper.toResponseDTO(bookingRow);
+    }
+
+    @Benchmark
+    public List<RoomResponseDTO> roomsToResponseDTOs(RoomList roomList) {
+        return roomMapper.toResponseDTOs(roomList.rooms);
+    }
+
+    @State(Scope.Benchmark)
+    public static class RoomList {
+
+        @Param({"20", "200"})
+        private int roomCount;
+
+        private List<Room> rooms;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            rooms = BenchmarkFixtures.rooms(roomCount);
+        }
+    }
+}
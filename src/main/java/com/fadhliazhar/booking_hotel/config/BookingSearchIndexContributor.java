@@ -0,0 +1,31 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import org.hibernate.boot.ResourceStreamLocator;
+import org.hibernate.boot.model.relational.SimpleAuxiliaryDatabaseObject;
+import org.hibernate.boot.spi.AdditionalMappingContributions;
+import org.hibernate.boot.spi.AdditionalMappingContributor;
+import org.hibernate.boot.spi.InFlightMetadataCollector;
+import org.hibernate.boot.spi.MetadataBuildingContext;
+import org.hibernate.dialect.MySQLDialect;
+
+import java.util.Set;
+
+/**
+ * Adds the guest name full-text index from V4 to schemas generated by Hibernate, which cannot express
+ * a FULLTEXT index through {@code @Index}. Loaded by Hibernate through META-INF/services.
+ */
+public class BookingSearchIndexContributor implements AdditionalMappingContributor {
+
+    @Override
+    public void contribute(AdditionalMappingContributions contributions,
+                           InFlightMetadataCollector metadata,
+                           ResourceStreamLocator resourceStreamLocator,
+                           MetadataBuildingContext buildingContext) {
+        contributions.contributeAuxiliaryDatabaseObject(new SimpleAuxiliaryDatabaseObject(
+                metadata.getDatabase().getDefaultNamespace(),
+                "ALTER TABLE bookings ADD FULLTEXT INDEX ft_bookings_guest_name (first_name, last_name) WITH PARSER ngram",
+                "DROP INDEX ft_bookings_guest_name ON bookings",
+                Set.of(MySQLDialect.class.getName())
+        ));
+    }
+}
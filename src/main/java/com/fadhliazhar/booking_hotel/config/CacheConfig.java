@@ -2,11 +2,17 @@ package com.fadhliazhar.booking_hotel.config;
 
 import com.fadhliazhar.booking_hotel.dto.amenity_type.AmenityTypeResponseDTO;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.booking.CachedBooking;
+import com.fadhliazhar.booking_hotel.dto.common.CatalogSnapshot;
+import com.fadhliazhar.booking_hotel.dto.common.PageResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
 import com.fadhliazhar.booking_hotel.dto.service_type.ServiceTypeResponseDTO;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fadhliazhar.booking_hotel.util.CachedResponse;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
@@ -16,16 +22,23 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Comprehensive caching configuration for performance optimization
@@ -42,10 +55,33 @@ public class CacheConfig {
     @Value("${spring.cache.redis.cache-null-values:false}")
     private boolean cacheNullValues;
 
+    @Value("${app.cache.serializer.format:smile}")
+    private String valueFormat;
+
+    @Value("${app.cache.serializer.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    @Value("${app.cache.stampede.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    @Value("${app.cache.local.enabled:true}")
+    private boolean localCacheEnabled;
+
+    @Value("${app.cache.local.maximum-size:10000}")
+    private long localCacheMaximumSize;
+
+    @Value("${app.cache.local.ttl:PT1M}")
+    private Duration localCacheTtl;
+
+    @Value("${app.cache.local.invalidation-channel:booking-hotel:cache-invalidation}")
+    private String localCacheInvalidationChannel;
+
     // Cache names constants
     public static final String ROOMS_CACHE = "rooms";
+    public static final String ROOM_LIST_CACHE = "roomList";
     public static final String BOOKING_DETAILS_CACHE = "bookingDetails";
-    public static final String AVAILABLE_ROOMS_CACHE = "availableRooms";
+    public static final String AVAILABILITY_VERSIONS_CACHE = "availabilityVersions";
+    public static final String AVAILABLE_ROOM_RESPONSES_CACHE = "availableRoomResponses";
     public static final String AMENITY_TYPES_CACHE = "amenityTypes";
     public static final String SERVICE_TYPES_CACHE = "serviceTypes";
     public static final String ROOM_AMENITIES_CACHE = "roomAmenities";
@@ -82,88 +118,126 @@ public class CacheConfig {
      */
     @Bean
     @Primary
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
         RedisCacheConfiguration defaultConfig = createDefaultCacheConfig();
         
-        // Configure specific cache configurations
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        Map<String, RedisCacheConfiguration> cacheConfigurations = createCacheConfigurations();
+        
+        // Redis round-trip times and value sizes are recorded per cache by the writer
+        RedisCacheWriter cacheWriter = new MeteredRedisCacheWriter(
+            RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), meterRegistry);
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(cacheWriter)
+            .cacheDefaults(defaultConfig)
+            .withInitialCacheConfigurations(cacheConfigurations);
+        
+        if (!localCacheEnabled) {
+            RedisCacheManager cacheManager = builder.transactionAware().build();
+            // Wrapped, so the container never initializes it; without this the typed configurations are not loaded
+            cacheManager.afterPropertiesSet();
+            log.info("Redis cache manager configured with {} cache configurations", 
+                    cacheConfigurations.size());
+            return new MeteredCacheManager(protectFromStampedes(cacheManager, cacheConfigurations),
+                meterRegistry, "cacheManager");
+        }
+        
+        // Redis becomes the L2; transaction awareness moves to the two-level manager so L1 writes
+        // and invalidation messages are also deferred until commit
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+        
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager,
+                localCacheMaximumSize, localCacheTtl,
+                new StringRedisTemplate(connectionFactory), localCacheInvalidationChannel);
+        cacheManager.setTransactionAware(true);
+        // Catalog snapshots are immutable: L1 hits return the snapshot itself instead of a deserialized copy
+        cacheManager.setSharedValueCacheNames(List.of(AMENITY_TYPES_CACHE, SERVICE_TYPES_CACHE));
+        
+        log.info("Two-level cache manager configured with {} cache configurations, L1 max size {} and TTL {}", 
+                cacheConfigurations.size(), localCacheMaximumSize, localCacheTtl);
+        
+        return new MeteredCacheManager(protectFromStampedes(cacheManager, cacheConfigurations),
+            meterRegistry, "cacheManager");
+    }
 
-        // object mapper
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.findAndRegisterModules();
-        objectMapper.activateDefaultTyping(
-                LaissezFaireSubTypeValidator.instance,
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY
-        );
-
-        // Specific serializer untuk BookingResponseDTO
-        Jackson2JsonRedisSerializer<BookingResponseDTO> bookingSerializer =
-                new Jackson2JsonRedisSerializer<>(objectMapper, BookingResponseDTO.class);
-
-        // Specific serializer untuk AmenityTypeResponseDTO
-        Jackson2JsonRedisSerializer<AmenityTypeResponseDTO> amenityTypesSerializer =
-                new Jackson2JsonRedisSerializer<>(objectMapper, AmenityTypeResponseDTO.class);
-
-        // Specific serializer untuk ServiceTypeResponseDTO
-        Jackson2JsonRedisSerializer<ServiceTypeResponseDTO> serviceTypesSerializer =
-                new Jackson2JsonRedisSerializer<>(objectMapper, ServiceTypeResponseDTO.class);
-
-
-        // Specific cache config untuk BookingResponseDTO
-        RedisCacheConfiguration bookingsCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(bookingSerializer))
-                .entryTtl(Duration.ofMinutes(30))
-                .computePrefixWith(cacheName -> "booking-hotel:" + cacheName + ":");
-
-        // Specific cache config untuk AmenityTypeResponseDTO
-        RedisCacheConfiguration amenityTypesCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(amenityTypesSerializer))
-                .entryTtl(Duration.ofHours(2))
-                .computePrefixWith(cacheName -> "booking-hotel:" + cacheName + ":");
-
-        // Specific cache config untuk ServiceTypeResponseDTO
-        RedisCacheConfiguration serviceTypesCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serviceTypesSerializer))
-                .entryTtl(Duration.ofHours(2))
-                .computePrefixWith(cacheName -> "booking-hotel:" + cacheName + ":");
+    /**
+     * Add single-flight loading and early refresh to the caches whose misses fall through to expensive queries
+     * or rebuild a whole catalog
+     */
+    private CacheManager protectFromStampedes(CacheManager cacheManager,
+                                              Map<String, RedisCacheConfiguration> cacheConfigurations) {
+        Map<String, Duration> protectedCacheTtls = new HashMap<>();
+        for (String cacheName : List.of(BOOKING_DETAILS_CACHE, AVAILABLE_ROOM_RESPONSES_CACHE,
+                AMENITY_TYPES_CACHE, SERVICE_TYPES_CACHE)) {
+            protectedCacheTtls.put(cacheName,
+                cacheConfigurations.get(cacheName).getTtlFunction().getTimeToLive(cacheName, null));
+        }
+        return new StampedeProtectedCacheManager(cacheManager, protectedCacheTtls, earlyRefreshBeta);
+    }
+
+    /**
+     * Subscribe the two-level cache manager to L1 invalidations published by other nodes
+     */
+    @Bean
+    public CacheInvalidationSubscriber cacheInvalidationSubscriber(RedisConnectionFactory connectionFactory,
+                                                                   CacheManager cacheManager) {
+        CacheManager target = cacheManager;
+        if (target instanceof MeteredCacheManager meteredCacheManager) {
+            target = meteredCacheManager.getDelegate();
+        }
+        if (target instanceof StampedeProtectedCacheManager stampedeProtectedCacheManager) {
+            target = stampedeProtectedCacheManager.getDelegate();
+        }
+        return target instanceof TwoLevelCacheManager twoLevelCacheManager
+                ? new CacheInvalidationSubscriber(connectionFactory, twoLevelCacheManager)
+                : null;
+    }
+
+    /**
+     * Per-cache Redis configurations: TTL, value serializer and key prefix
+     */
+    private Map<String, RedisCacheConfiguration> createCacheConfigurations() {
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
 
+        // Typed compact serializers for the cached DTOs
+        ObjectMapper valueMapper = "json".equalsIgnoreCase(valueFormat)
+                ? CompactRedisSerializer.jsonMapper()
+                : CompactRedisSerializer.smileMapper();
 
         // Short-lived caches (5 minutes) - frequently changing data
-        cacheConfigurations.put(AVAILABLE_ROOMS_CACHE, 
+        cacheConfigurations.put(AVAILABILITY_VERSIONS_CACHE, 
             createCacheConfig(Duration.ofMinutes(5)));
+        cacheConfigurations.put(AVAILABLE_ROOM_RESPONSES_CACHE, 
+            createTypedCacheConfig(valueMapper, CachedResponse.class, Duration.ofMinutes(5)));
         cacheConfigurations.put(USER_BOOKINGS_CACHE, 
-            createCacheConfig(Duration.ofMinutes(5)));
+            createTypedCacheConfig(valueMapper,
+                valueMapper.getTypeFactory().constructParametricType(PageResponseDTO.class, BookingResponseDTO.class),
+                Duration.ofMinutes(5)));
         
         // Medium-lived caches (30 minutes) - moderately changing data
         cacheConfigurations.put(ROOMS_CACHE, 
-            createCacheConfig(Duration.ofMinutes(30)));
-
-        cacheConfigurations.put(BOOKING_DETAILS_CACHE, bookingsCacheConfig);
+            createTypedCacheConfig(valueMapper, RoomResponseDTO.class, Duration.ofMinutes(30)));
+        cacheConfigurations.put(ROOM_LIST_CACHE, 
+            createTypedCacheConfig(valueMapper,
+                valueMapper.getTypeFactory().constructCollectionType(List.class, RoomResponseDTO.class),
+                Duration.ofMinutes(30)));
+        cacheConfigurations.put(BOOKING_DETAILS_CACHE, 
+            createTypedCacheConfig(valueMapper, CachedBooking.class, Duration.ofMinutes(30)));
 
         cacheConfigurations.put(ROOM_AMENITIES_CACHE,
             createCacheConfig(Duration.ofMinutes(30)));
         cacheConfigurations.put(ROOM_SERVICES_CACHE, 
             createCacheConfig(Duration.ofMinutes(30)));
         
-        // Long-lived caches (2 hours) - rarely changing data
-        cacheConfigurations.put(AMENITY_TYPES_CACHE, amenityTypesCacheConfig);
-        cacheConfigurations.put(SERVICE_TYPES_CACHE, serviceTypesCacheConfig);
-        
-        RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
-            .cacheDefaults(defaultConfig)
-            .withInitialCacheConfigurations(cacheConfigurations)
-            .transactionAware()
-            .build();
-        
-        log.info("Redis cache manager configured with {} cache configurations", 
-                cacheConfigurations.size());
-        
-        return cacheManager;
+        // Long-lived caches (2 hours) - rarely changing data, one catalog snapshot per cache
+        cacheConfigurations.put(AMENITY_TYPES_CACHE, 
+            createTypedCacheConfig(valueMapper,
+                valueMapper.getTypeFactory().constructParametricType(CatalogSnapshot.class, AmenityTypeResponseDTO.class),
+                Duration.ofHours(2)));
+        cacheConfigurations.put(SERVICE_TYPES_CACHE, 
+            createTypedCacheConfig(valueMapper,
+                valueMapper.getTypeFactory().constructParametricType(CatalogSnapshot.class, ServiceTypeResponseDTO.class),
+                Duration.ofHours(2)));
+        return cacheConfigurations;
     }
 
     /**
@@ -187,6 +261,23 @@ public class CacheConfig {
         return createDefaultCacheConfig().entryTtl(ttl);
     }
 
+    /**
+     * Create cache configuration holding a single DTO type with the compact serializer. The value format is part
+     * of the key prefix, so entries written in another format are never read back.
+     */
+    private RedisCacheConfiguration createTypedCacheConfig(ObjectMapper valueMapper, Class<?> type, Duration ttl) {
+        return createTypedCacheConfig(valueMapper, valueMapper.constructType(type), ttl);
+    }
+
+    private RedisCacheConfiguration createTypedCacheConfig(ObjectMapper valueMapper, JavaType type, Duration ttl) {
+        String prefixFormat = "json".equalsIgnoreCase(valueFormat) ? "json" : "smile";
+        return createDefaultCacheConfig()
+            .entryTtl(ttl)
+            .serializeValuesWith(RedisSerializationContext.SerializationPair
+                .fromSerializer(new CompactRedisSerializer<>(valueMapper, type, compressionThreshold)))
+            .computePrefixWith(cacheName -> "booking-hotel:" + cacheName + ":" + prefixFormat + ":");
+    }
+
     /**
      * Create JSON serializer with proper configuration
      */
@@ -201,8 +292,8 @@ public class CacheConfig {
      * Cache monitoring and management utilities
      */
     @Bean
-    public CacheMonitor cacheMonitor(CacheManager cacheManager) {
-        return new CacheMonitor(cacheManager);
+    public CacheMonitor cacheMonitor(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        return new CacheMonitor(cacheManager, meterRegistry);
     }
 
     /**
@@ -210,9 +301,11 @@ public class CacheConfig {
      */
     public static class CacheMonitor {
         private final CacheManager cacheManager;
+        private final MeterRegistry meterRegistry;
 
-        public CacheMonitor(CacheManager cacheManager) {
+        public CacheMonitor(CacheManager cacheManager, MeterRegistry meterRegistry) {
             this.cacheManager = cacheManager;
+            this.meterRegistry = meterRegistry;
         }
 
         /**
@@ -240,19 +333,35 @@ public class CacheConfig {
         }
 
         /**
-         * Get cache statistics (basic implementation)
+         * Per-cache hit, miss, put and eviction counts and Redis round-trip time, read from the cache meters
          */
         public Map<String, Object> getCacheStats() {
             Map<String, Object> stats = new HashMap<>();
             for (String cacheName : cacheManager.getCacheNames()) {
-                org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
-                if (cache != null) {
-                    stats.put(cacheName, "Cache exists and is accessible");
-                }
+                double hits = count("cache.gets", cacheName, "result", "hit");
+                double misses = count("cache.gets", cacheName, "result", "miss");
+                Map<String, Object> cacheStats = new HashMap<>();
+                cacheStats.put("hits", (long) hits);
+                cacheStats.put("misses", (long) misses);
+                cacheStats.put("hitRatio", hits + misses > 0 ? hits / (hits + misses) : 0.0);
+                cacheStats.put("puts", (long) count("cache.puts", cacheName));
+                cacheStats.put("evictions", (long) count("cache.evictions", cacheName));
+                cacheStats.put("redisMeanMillis", meterRegistry.find("cache.redis.duration").tag("cache", cacheName)
+                    .timers().stream()
+                    .filter(timer -> timer.count() > 0)
+                    .mapToDouble(timer -> timer.mean(TimeUnit.MILLISECONDS))
+                    .average()
+                    .orElse(0.0));
+                stats.put(cacheName, cacheStats);
             }
             return stats;
         }
 
+        private double count(String meterName, String cacheName, String... tags) {
+            Counter counter = meterRegistry.find(meterName).tag("cache", cacheName).tags(tags).counter();
+            return counter != null ? counter.count() : 0;
+        }
+
         /**
          * Evict specific cache entry
          */
@@ -280,8 +389,8 @@ public class CacheConfig {
      * Cache warming utility for preloading frequently accessed data
      */
     @Bean
-    public CacheWarmer cacheWarmer(CacheManager cacheManager) {
-        return new CacheWarmer(cacheManager);
+    public CacheWarmer cacheWarmer(CacheManager cacheManager, RedisConnectionFactory connectionFactory) {
+        return new CacheWarmer(cacheManager, connectionFactory, createCacheConfigurations());
     }
 
     /**
@@ -289,9 +398,18 @@ public class CacheConfig {
      */
     public static class CacheWarmer {
         private final CacheManager cacheManager;
+        private final RedisConnectionFactory connectionFactory;
+        private final Map<String, RedisCacheConfiguration> cacheConfigurations;
 
         public CacheWarmer(CacheManager cacheManager) {
+            this(cacheManager, null, Map.of());
+        }
+
+        public CacheWarmer(CacheManager cacheManager, RedisConnectionFactory connectionFactory,
+                           Map<String, RedisCacheConfiguration> cacheConfigurations) {
             this.cacheManager = cacheManager;
+            this.connectionFactory = connectionFactory;
+            this.cacheConfigurations = cacheConfigurations;
         }
 
         /**
@@ -306,16 +424,70 @@ public class CacheConfig {
         }
 
         /**
-         * Warm up caches during application startup
+         * Add entries that are not cached yet, leaving entries already present (for example written by
+         * another node) untouched. Returns how many entries were added.
+         * <p>
+         * Redis-backed caches get the whole batch as one pipeline of {@code SET NX} commands, written in the
+         * cache's own key and value format. No L1 invalidation is published: an entry is only added where Redis
+         * had none, and any L1 copy another node still holds is bounded by the L1 TTL, as with a lost message.
          */
-        public void warmUpCaches() {
-            log.info("Starting cache warm-up process");
-            
-            // This method can be called during application startup
-            // to preload frequently accessed data into caches
-            // Implementation would depend on your specific use case
-            
-            log.info("Cache warm-up process completed");
+        public int warmUpCache(String cacheName, Map<?, ?> entries) {
+            RedisCacheConfiguration configuration = cacheConfigurations.get(cacheName);
+            int added = connectionFactory != null && configuration != null
+                    ? writeIfAbsent(cacheName, configuration, entries)
+                    : putEachIfAbsent(cacheName, entries);
+            log.debug("Cache warmed up - Cache: {}, Entries: {}, Added: {}", cacheName, entries.size(), added);
+            return added;
+        }
+
+        private int writeIfAbsent(String cacheName, RedisCacheConfiguration configuration, Map<?, ?> entries) {
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            List<Object> results;
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.openPipeline();
+                for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                    if (entry.getValue() == null) {
+                        continue;
+                    }
+                    Duration ttl = configuration.getTtlFunction().getTimeToLive(entry.getKey(), entry.getValue());
+                    connection.stringCommands().set(
+                            cacheKey(cacheName, configuration, entry.getKey()),
+                            ByteUtils.getBytes(configuration.getValueSerializationPair().write(entry.getValue())),
+                            ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                            RedisStringCommands.SetOption.ifAbsent());
+                }
+                results = connection.closePipeline();
+            }
+            return (int) results.stream().filter(Boolean.TRUE::equals).count();
+        }
+
+        /**
+         * The Redis key RedisCache uses for a cache key
+         */
+        private static byte[] cacheKey(String cacheName, RedisCacheConfiguration configuration, Object key) {
+            String convertedKey = key instanceof String string
+                    ? string
+                    : configuration.getConversionService().convert(key, String.class);
+            String redisKey = configuration.usePrefix()
+                    ? configuration.getKeyPrefixFor(cacheName) + convertedKey
+                    : convertedKey;
+            return ByteUtils.getBytes(configuration.getKeySerializationPair().write(redisKey));
+        }
+
+        private int putEachIfAbsent(String cacheName, Map<?, ?> entries) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                return 0;
+            }
+            int added = 0;
+            for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                if (cache.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                    added++;
+                }
+            }
+            return added;
         }
     }
 }
\ No newline at end of file
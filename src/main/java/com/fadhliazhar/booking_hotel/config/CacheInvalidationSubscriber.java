@@ -0,0 +1,146 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscribes the two-level cache manager to L1 invalidations from other nodes.
+ * <p>
+ * Subscribing runs in the background so startup does not depend on Redis. L1 caching stays off until this
+ * node receives its own heartbeat back over the channel, as it would otherwise miss other nodes' writes.
+ * When heartbeats stop arriving, or the driver re-subscribes after a reconnect, invalidations may have been
+ * lost: L1 is switched off and dropped, and the subscription is restarted.
+ */
+@Slf4j
+public class CacheInvalidationSubscriber implements SmartLifecycle, MessageListener, SubscriptionListener {
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(5);
+    private static final Duration HEARTBEAT_TIMEOUT = Duration.ofSeconds(15);
+
+    private final TwoLevelCacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-subscriber");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Fewer than the four fields of an invalidation message, so the cache manager ignores it
+    private final String heartbeat = "heartbeat|" + UUID.randomUUID();
+    private volatile boolean running;
+    private volatile long lastHeartbeatNanos;
+    private ScheduledFuture<?> heartbeats;
+
+    public CacheInvalidationSubscriber(RedisConnectionFactory connectionFactory, TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        ChannelTopic topic = new ChannelTopic(cacheManager.getChannel());
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, topic);
+        container.addMessageListener(this, topic);
+        container.afterPropertiesSet();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor.execute(this::subscribe);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        cacheManager.setLocalCachingEnabled(false);
+        executor.shutdownNow();
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Our own heartbeat came back, so invalidations from other nodes reach this node too
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!heartbeat.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+            return;
+        }
+        lastHeartbeatNanos = System.nanoTime();
+        if (running && !cacheManager.isLocalCachingEnabled()) {
+            cacheManager.setLocalCachingEnabled(true);
+            log.info("Receiving cache invalidations on channel '{}', L1 caching enabled", cacheManager.getChannel());
+        }
+    }
+
+    /**
+     * A subscription confirmed after the first one follows a reconnect, and messages sent in between are lost
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (cacheManager.isLocalCachingEnabled()) {
+            cacheManager.setLocalCachingEnabled(false);
+            log.warn("Re-subscribed to cache invalidation channel '{}', L1 dropped until heartbeats resume",
+                    cacheManager.getChannel());
+        }
+    }
+
+    private void subscribe() {
+        if (!running) {
+            return;
+        }
+        try {
+            container.start();
+            lastHeartbeatNanos = System.nanoTime();
+            heartbeats = executor.scheduleAtFixedRate(this::checkHeartbeat, 0,
+                    HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Subscribed to cache invalidation channel '{}'", cacheManager.getChannel());
+        } catch (RuntimeException e) {
+            container.stop();
+            log.warn("Could not subscribe to cache invalidation channel '{}', L1 caching stays off, retrying in {}: {}",
+                    cacheManager.getChannel(), RETRY_INTERVAL, e.getMessage());
+            retryLater();
+        }
+    }
+
+    private void checkHeartbeat() {
+        if (System.nanoTime() - lastHeartbeatNanos > HEARTBEAT_TIMEOUT.toNanos()) {
+            heartbeats.cancel(false);
+            cacheManager.setLocalCachingEnabled(false);
+            container.stop();
+            log.warn("No heartbeat on cache invalidation channel '{}' for {}, L1 caching disabled, resubscribing in {}",
+                    cacheManager.getChannel(), HEARTBEAT_TIMEOUT, RETRY_INTERVAL);
+            retryLater();
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(cacheManager.getChannel(), heartbeat);
+        } catch (RuntimeException e) {
+            // A missing echo disables L1 once the timeout passes
+            log.debug("Failed to publish cache invalidation heartbeat: {}", e.getMessage());
+        }
+    }
+
+    private void retryLater() {
+        if (running) {
+            executor.schedule(this::subscribe, RETRY_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
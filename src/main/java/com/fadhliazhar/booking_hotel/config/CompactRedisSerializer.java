@@ -0,0 +1,122 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Redis value serializer bound to a single cached type, so values carry no embedded class names.
+ * <p>
+ * Values are written with the given mapper (binary Smile by default) behind a one-byte frame header:
+ * {@code 0} is followed by the raw payload, {@code 1} by the payload length and an LZ4 block. Payloads
+ * of at least {@code compressionThreshold} bytes are compressed when that actually saves space.
+ */
+public class CompactRedisSerializer<T> implements RedisSerializer<T> {
+    private static final byte PLAIN = 0;
+    private static final byte LZ4 = 1;
+    private static final int LZ4_HEADER_LENGTH = 1 + Integer.BYTES;
+    private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final int compressionThreshold;
+
+    public CompactRedisSerializer(ObjectMapper mapper, JavaType type, int compressionThreshold) {
+        this.reader = mapper.readerFor(type);
+        this.writer = mapper.writerFor(type);
+        this.compressionThreshold = compressionThreshold > 0 ? compressionThreshold : Integer.MAX_VALUE;
+    }
+
+    public CompactRedisSerializer(ObjectMapper mapper, Class<T> type, int compressionThreshold) {
+        this(mapper, mapper.constructType(type), compressionThreshold);
+    }
+
+    /**
+     * Mapper writing binary Smile; unknown properties are ignored so nodes on different DTO versions
+     * can share entries during a rolling deploy
+     */
+    public static ObjectMapper smileMapper() {
+        return configure(new ObjectMapper(new SmileFactory()));
+    }
+
+    /**
+     * Mapper writing plain JSON, for when cache values should stay readable with redis-cli
+     */
+    public static ObjectMapper jsonMapper() {
+        return configure(new ObjectMapper());
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] payload;
+        try {
+            payload = writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value: " + e.getMessage(), e);
+        }
+        if (payload.length >= compressionThreshold) {
+            byte[] compressed = compress(payload);
+            if (compressed.length < payload.length + 1) {
+                return compressed;
+            }
+        }
+        byte[] framed = new byte[payload.length + 1];
+        framed[0] = PLAIN;
+        System.arraycopy(payload, 0, framed, 1, payload.length);
+        return framed;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return switch (bytes[0]) {
+                case PLAIN -> reader.readValue(bytes, 1, bytes.length - 1);
+                case LZ4 -> reader.readValue(decompress(bytes));
+                default -> throw new SerializationException("Unknown cache value format: " + bytes[0]);
+            };
+        } catch (IOException | LZ4Exception e) {
+            throw new SerializationException("Could not read cache value: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] compress(byte[] payload) {
+        LZ4Compressor compressor = LZ4_FACTORY.fastCompressor();
+        byte[] framed = new byte[LZ4_HEADER_LENGTH + compressor.maxCompressedLength(payload.length)];
+        framed[0] = LZ4;
+        ByteBuffer.wrap(framed, 1, Integer.BYTES).putInt(payload.length);
+        int compressedLength = compressor.compress(payload, 0, payload.length, framed, LZ4_HEADER_LENGTH);
+        return Arrays.copyOf(framed, LZ4_HEADER_LENGTH + compressedLength);
+    }
+
+    private static byte[] decompress(byte[] framed) {
+        int length = ByteBuffer.wrap(framed, 1, Integer.BYTES).getInt();
+        LZ4FastDecompressor decompressor = LZ4_FACTORY.fastDecompressor();
+        return decompressor.decompress(framed, LZ4_HEADER_LENGTH, length);
+    }
+}
@@ -0,0 +1,140 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache decorator recording Micrometer metrics: {@code cache.gets} (tagged hit or miss), {@code cache.puts},
+ * {@code cache.evictions} and a {@code cache.load.duration} histogram for loads run on a miss.
+ * Meter names follow Micrometer's own cache binders so existing dashboards apply.
+ */
+public class MeteredCache implements Cache {
+
+    private final Cache delegate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+
+    public MeteredCache(Cache delegate, MeterRegistry meterRegistry, String cacheManagerName) {
+        this.delegate = delegate;
+        Tags tags = Tags.of("cache", delegate.getName(), "cache.manager", cacheManagerName);
+        this.hits = Counter.builder("cache.gets").tags(tags).tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tags(tags).tag("result", "miss")
+                .description("The number of times cache lookup methods have not returned a value")
+                .register(meterRegistry);
+        this.puts = Counter.builder("cache.puts").tags(tags)
+                .description("The number of entries added to the cache")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tags(tags)
+                .description("The number of times the cache was evicted")
+                .register(meterRegistry);
+        this.loadSuccess = loadTimer(meterRegistry, tags, "success");
+        this.loadFailure = loadTimer(meterRegistry, tags, "failure");
+    }
+
+    private static Timer loadTimer(MeterRegistry meterRegistry, Tags tags, String result) {
+        return Timer.builder("cache.load.duration").tags(tags).tag("result", result)
+                .description("Time taken to load a value on a cache miss")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return recordLookup(delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return recordLookup(delegate.get(key, type));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = delegate.get(key, () -> {
+            loaded.set(true);
+            long start = System.nanoTime();
+            try {
+                T result = valueLoader.call();
+                loadSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Exception e) {
+                loadFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        });
+        (loaded.get() ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        evictions.increment();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        evictions.increment();
+        return invalidated;
+    }
+
+    private <T> T recordLookup(T result) {
+        (result != null ? hits : misses).increment();
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager decorator that wraps every cache of the delegate in a {@link MeteredCache}
+ */
+public class MeteredCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final MeterRegistry meterRegistry;
+    private final String name;
+    private final ConcurrentMap<String, Cache> meteredCaches = new ConcurrentHashMap<>();
+
+    public MeteredCacheManager(CacheManager delegate, MeterRegistry meterRegistry, String name) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Cache getCache(String cacheName) {
+        Cache cached = meteredCaches.get(cacheName);
+        if (cached != null) {
+            return cached;
+        }
+        Cache cache = delegate.getCache(cacheName);
+        return cache != null
+                ? meteredCaches.computeIfAbsent(cacheName, key -> new MeteredCache(cache, meterRegistry, name))
+                : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
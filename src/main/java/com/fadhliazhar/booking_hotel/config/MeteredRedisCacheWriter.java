@@ -0,0 +1,163 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Redis cache writer decorator recording the Redis round-trip time of every cache command
+ * ({@code cache.redis.duration}) and the size of serialized values read and written ({@code cache.value.size}),
+ * both tagged by cache name and operation
+ */
+public class MeteredRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredRedisCacheWriter(RedisCacheWriter delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        long start = System.nanoTime();
+        byte[] value = delegate.get(name, key);
+        recordRoundTrip(name, "get", start);
+        recordSize(name, "read", value);
+        return value;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        long start = System.nanoTime();
+        byte[] value = delegate.get(name, key, ttl);
+        recordRoundTrip(name, "get", start);
+        recordSize(name, "read", value);
+        return value;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Supplier<byte[]> valueLoader, Duration ttl, boolean timeToIdleEnabled) {
+        // The loader runs inside this call, so its time is taken out of the Redis round trip
+        long[] loadNanos = new long[1];
+        long start = System.nanoTime();
+        byte[] value = delegate.get(name, key, () -> {
+            long loadStart = System.nanoTime();
+            try {
+                byte[] loaded = valueLoader.get();
+                recordSize(name, "write", loaded);
+                return loaded;
+            } finally {
+                loadNanos[0] = System.nanoTime() - loadStart;
+            }
+        }, ttl, timeToIdleEnabled);
+        timer(name, "get").record(System.nanoTime() - start - loadNanos[0], TimeUnit.NANOSECONDS);
+        if (loadNanos[0] == 0) {
+            recordSize(name, "read", value);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        long start = System.nanoTime();
+        return delegate.retrieve(name, key, ttl).whenComplete((value, error) -> {
+            recordRoundTrip(name, "get", start);
+            recordSize(name, "read", value);
+        });
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        long start = System.nanoTime();
+        delegate.put(name, key, value, ttl);
+        recordRoundTrip(name, "put", start);
+        recordSize(name, "write", value);
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        long start = System.nanoTime();
+        recordSize(name, "write", value);
+        return delegate.store(name, key, value, ttl).whenComplete((ignored, error) -> recordRoundTrip(name, "put", start));
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        long start = System.nanoTime();
+        byte[] existing = delegate.putIfAbsent(name, key, value, ttl);
+        recordRoundTrip(name, "put_if_absent", start);
+        recordSize(name, existing == null ? "write" : "read", existing == null ? value : existing);
+        return existing;
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        long start = System.nanoTime();
+        delegate.remove(name, key);
+        recordRoundTrip(name, "remove", start);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        long start = System.nanoTime();
+        delegate.clean(name, pattern);
+        recordRoundTrip(name, "clean", start);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new MeteredRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector), meterRegistry);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    private void recordRoundTrip(String name, String operation, long start) {
+        timer(name, operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String operation) {
+        return Timer.builder("cache.redis.duration")
+                .description("Redis round-trip time of cache commands")
+                .tag("cache", name)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void recordSize(String name, String operation, byte[] value) {
+        if (value == null) {
+            return;
+        }
+        DistributionSummary.builder("cache.value.size")
+                .description("Size of serialized cache values")
+                .baseUnit("bytes")
+                .tag("cache", name)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(value.length);
+    }
+}
@@ -53,6 +53,8 @@ public class SecurityConfig {
                     // Public endpoints (no authentication required)
                     .requestMatchers(HttpMethod.GET, 
                             "/actuator/health", 
+                            "/actuator/health/liveness", 
+                            "/actuator/health/readiness", 
                             "/actuator/info",
                             "/actuator/prometheus").permitAll()
                     
@@ -65,7 +67,10 @@ public class SecurityConfig {
                             "/api-docs/swagger-config").permitAll()
                     
                     // Room availability check (public for browsing)
-                    .requestMatchers(HttpMethod.POST, "/api/v1/rooms/available-room").permitAll()
+                    .requestMatchers(HttpMethod.POST,
+                            "/api/v1/rooms/available-room",
+                            "/api/v1/rooms/available-rooms").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/v1/rooms/available-room").permitAll()
                     
                     // All other API endpoints require authentication
                     .requestMatchers("/api/v1/**").authenticated()
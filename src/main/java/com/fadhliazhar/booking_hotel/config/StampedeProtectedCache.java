@@ -0,0 +1,262 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache decorator protecting {@link #get(Object, Callable)} loads from stampedes.
+ * <p>
+ * Single flight: at most one loader runs per key on this node and concurrent callers for that key wait
+ * for its result. Early refresh (XFetch): a hit is recomputed ahead of expiry when
+ * {@code now - delta * beta * ln(random) >= expiry}, where delta is how long the last load took, so one
+ * caller refreshes a hot entry while everyone else is still served the cached value. Load timings are
+ * tracked per node for the entries this node loaded; other entries simply expire.
+ * <p>
+ * A put, eviction or clear while a load for the key is in flight invalidates that load: a refresh does not
+ * write its value back, and a value written by the miss path is evicted again, so a write that landed
+ * during the load is never overwritten with data read before it. A transaction-aware delegate only applies
+ * writes made inside a transaction after commit, so those invalidate the loads in flight again at that
+ * point: a load started between the write and the commit may have read the row as it was before the commit.
+ */
+public class StampedeProtectedCache implements Cache {
+    private static final long MAX_TRACKED_KEYS = 10_000;
+
+    private final Cache delegate;
+    private final long ttlNanos;
+    private final double beta;
+    private final LongSupplier nanoClock;
+    private final DoubleSupplier random;
+    private final ConcurrentMap<Object, Flight> inFlight = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<Object, LoadTiming> timings;
+
+    public StampedeProtectedCache(Cache delegate, Duration ttl, double beta) {
+        this(delegate, ttl, beta, System::nanoTime, () -> 1.0 - ThreadLocalRandom.current().nextDouble());
+    }
+
+    StampedeProtectedCache(Cache delegate, Duration ttl, double beta, LongSupplier nanoClock, DoubleSupplier random) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.beta = beta;
+        this.nanoClock = nanoClock;
+        this.random = random;
+        this.timings = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_KEYS)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null && cached.get() != null) {
+            T value = (T) cached.get();
+            if (!shouldRefreshEarly(key)) {
+                return value;
+            }
+            // Callers arriving while the refresh runs keep getting the cached value
+            return singleFlight(key, valueLoader, value, flight -> refresh(key, valueLoader, flight));
+        }
+        return singleFlight(key, valueLoader, null, flight -> load(key, valueLoader, flight));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        invalidateFlights(() -> invalidateFlight(key));
+        delegate.put(key, value);
+        timings.invalidate(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidateFlights(() -> invalidateFlight(key));
+        delegate.evict(key);
+        timings.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidateFlights(() -> invalidateFlight(key));
+        timings.invalidate(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidateFlights(() -> inFlight.values().forEach(Flight::invalidate));
+        delegate.clear();
+        timings.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        inFlight.values().forEach(Flight::invalidate);
+        timings.invalidateAll();
+        return delegate.invalidate();
+    }
+
+    private boolean shouldRefreshEarly(Object key) {
+        LoadTiming timing = timings.getIfPresent(key);
+        if (timing == null || beta <= 0) {
+            return false;
+        }
+        return nanoClock.getAsLong() - timing.deltaNanos() * beta * Math.log(random.getAsDouble())
+                >= timing.expiresAtNanos();
+    }
+
+    /**
+     * Run the action unless a load for this key is already in flight, in which case return the fallback
+     * if there is one or wait for that load's result
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T singleFlight(Object key, Callable<T> valueLoader, T fallback, Function<Flight, T> action) {
+        Flight flight = new Flight();
+        Flight running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return fallback != null ? fallback : (T) await(key, valueLoader, running);
+        }
+        try {
+            T value = action.apply(flight);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ValueRetrievalException retrievalException) {
+                throw new ValueRetrievalException(key, valueLoader, retrievalException.getCause());
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, cause);
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader, Flight flight) {
+        T value = delegate.get(key, timed(key, valueLoader));
+        if (flight.isInvalidated()) {
+            delegate.evict(key);
+        }
+        return value;
+    }
+
+    private <T> T refresh(Object key, Callable<T> valueLoader, Flight flight) {
+        T value;
+        try {
+            value = timed(key, valueLoader).call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (flight.isInvalidated()) {
+            return value;
+        }
+        delegate.put(key, value);
+        // Writers flag the flight before touching the delegate, so a write that raced with this put is seen here
+        if (flight.isInvalidated()) {
+            delegate.evict(key);
+        }
+        return value;
+    }
+
+    /**
+     * Invalidate the loads in flight now and, inside a transaction, once more after commit. Registered before
+     * the delegate defers its own write, so the loads are flagged before that write reaches the cache.
+     */
+    private void invalidateFlights(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private void invalidateFlight(Object key) {
+        Flight flight = inFlight.get(key);
+        if (flight != null) {
+            flight.invalidate();
+        }
+    }
+
+    private <T> Callable<T> timed(Object key, Callable<T> valueLoader) {
+        return () -> {
+            long start = nanoClock.getAsLong();
+            T value = valueLoader.call();
+            long end = nanoClock.getAsLong();
+            timings.put(key, new LoadTiming(end + ttlNanos, end - start));
+            return value;
+        };
+    }
+
+    private record LoadTiming(long expiresAtNanos, long deltaNanos) {
+    }
+
+    /**
+     * A load in progress, marked invalidated when the key is written or evicted before it completes
+     */
+    private static final class Flight extends CompletableFuture<Object> {
+        private volatile boolean invalidated;
+
+        void invalidate() {
+            invalidated = true;
+        }
+
+        boolean isInvalidated() {
+            return invalidated;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager decorator that wraps the selected caches in a {@link StampedeProtectedCache}
+ * and returns every other cache of the delegate unchanged
+ */
+public class StampedeProtectedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    // Protected cache names and the TTL their entries are written with
+    private final Map<String, Duration> protectedCacheTtls;
+    private final double beta;
+    private final ConcurrentMap<String, Cache> protectedCaches = new ConcurrentHashMap<>();
+
+    public StampedeProtectedCacheManager(CacheManager delegate, Map<String, Duration> protectedCacheTtls, double beta) {
+        this.delegate = delegate;
+        this.protectedCacheTtls = Map.copyOf(protectedCacheTtls);
+        this.beta = beta;
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Duration ttl = protectedCacheTtls.get(name);
+        if (ttl == null) {
+            return delegate.getCache(name);
+        }
+        return protectedCaches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return cache != null ? new StampedeProtectedCache(cache, ttl, beta) : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,259 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cache with a node-local Caffeine L1 in front of a shared Redis L2.
+ * <p>
+ * Reads are served from L1 when present and fall through to L2 otherwise. Every write goes to L2,
+ * updates this node's L1 and publishes an invalidation so other nodes drop their L1 copy.
+ * L1 keys are the string form of the cache key, matching how Redis keys are rendered on every node.
+ * L1 holds values in the form given by its {@link LocalValueCodec}; for Redis-backed caches of mutable DTOs
+ * that is the serialized form, so every hit deserializes its own copy and callers can never mutate a shared DTO.
+ * <p>
+ * Every local invalidation stamps its key with the next number of a per-cache sequence. A read that fills L1
+ * from L2 or a loader re-checks the stamp of its own key after writing, so an eviction that ran during a slow
+ * load cannot leave the stale value behind in L1, while writes to other keys leave the fill alone. Stamps are
+ * kept for a bounded number of keys; one dropped from tracking, or a clear, applies to every key.
+ */
+public class TwoLevelCache implements Cache {
+    private static final long MAX_TRACKED_KEYS = 10_000;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final LocalValueCodec codec;
+    private final Cache remote;
+    private final BooleanSupplier localEnabled;
+    // Receives (cache name, key); a null key means the whole cache was cleared
+    private final BiConsumer<String, String> invalidationPublisher;
+    private final AtomicLong sequence = new AtomicLong();
+    // Sequence number of the last invalidation of each recently invalidated key
+    private final com.github.benmanes.caffeine.cache.Cache<String, Long> invalidatedAt;
+    // Sequence number of the last clear or of the newest stamp no longer tracked per key
+    private final AtomicLong allInvalidatedAt = new AtomicLong();
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         LocalValueCodec codec,
+                         Cache remote,
+                         BooleanSupplier localEnabled,
+                         BiConsumer<String, String> invalidationPublisher) {
+        this.name = name;
+        this.local = local;
+        this.codec = codec;
+        this.remote = remote;
+        this.localEnabled = localEnabled;
+        this.invalidationPublisher = invalidationPublisher;
+        this.invalidatedAt = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_KEYS)
+                .<String, Long>evictionListener((localKey, stamp, cause) -> {
+                    if (stamp != null) {
+                        allInvalidatedAt.accumulateAndGet(stamp, Math::max);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (!localEnabled.getAsBoolean()) {
+            return remote.get(key);
+        }
+        String localKey = localKey(key);
+        Object stored = local.getIfPresent(localKey);
+        if (stored != null) {
+            return new SimpleValueWrapper(codec.decode(stored));
+        }
+        long loadStart = sequence.get();
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            populateLocal(localKey, wrapper.get(), loadStart);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (!localEnabled.getAsBoolean()) {
+            return remote.get(key, valueLoader);
+        }
+        String localKey = localKey(key);
+        Object stored = local.getIfPresent(localKey);
+        if (stored != null) {
+            return (T) codec.decode(stored);
+        }
+        // Loaded outside Caffeine's compute, which holds a map lock for the whole Redis and database round trip
+        // and would pin virtual threads; concurrent loads of one key are coalesced by StampedeProtectedCache
+        long loadStart = sequence.get();
+        T value = remote.get(key, valueLoader);
+        if (value != null) {
+            populateLocal(localKey, value, loadStart);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        stamp(localKey(key));
+        remote.put(key, value);
+        if (value != null && localEnabled.getAsBoolean()) {
+            local.put(localKey(key), codec.encode(value));
+        } else {
+            local.invalidate(localKey(key));
+        }
+        invalidationPublisher.accept(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        invalidateLocal(localKey(key));
+        if (existing == null) {
+            invalidationPublisher.accept(name, localKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        invalidateLocal(localKey(key));
+        invalidationPublisher.accept(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        invalidateLocal(localKey(key));
+        invalidationPublisher.accept(name, localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        invalidateLocal();
+        invalidationPublisher.accept(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        invalidateLocal();
+        invalidationPublisher.accept(name, null);
+        return invalidated;
+    }
+
+    /**
+     * Drop an L1 entry after another node changed it
+     */
+    void invalidateLocal(String localKey) {
+        stamp(localKey);
+        local.invalidate(localKey);
+    }
+
+    /**
+     * Drop every L1 entry after another node cleared the cache
+     */
+    void invalidateLocal() {
+        allInvalidatedAt.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+        local.invalidateAll();
+    }
+
+    private void stamp(String localKey) {
+        invalidatedAt.put(localKey, sequence.incrementAndGet());
+    }
+
+    /**
+     * Store a value read from L2 in L1, unless its key was invalidated since the read started. Writing first and
+     * checking after means an invalidation either sees the entry and removes it, or is seen here.
+     */
+    private void populateLocal(String localKey, Object value, long loadStart) {
+        local.put(localKey, codec.encode(value));
+        Long stamp = invalidatedAt.getIfPresent(localKey);
+        if (allInvalidatedAt.get() > loadStart || (stamp != null && stamp > loadStart)) {
+            local.invalidate(localKey);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    /**
+     * Converts values to and from the form kept in L1
+     */
+    interface LocalValueCodec {
+
+        /**
+         * Keeps the value object itself, for remotes whose values are not serialized (tests, in-memory caches)
+         */
+        LocalValueCodec IDENTITY = new LocalValueCodec() {
+            @Override
+            public Object encode(Object value) {
+                return value;
+            }
+
+            @Override
+            public Object decode(Object stored) {
+                return stored;
+            }
+        };
+
+        Object encode(Object value);
+
+        Object decode(Object stored);
+
+        /**
+         * Keeps the bytes the remote Redis cache would store, so each read gets a fresh copy
+         */
+        static LocalValueCodec serializing(RedisSerializationContext.SerializationPair<Object> serializationPair) {
+            return new LocalValueCodec() {
+                @Override
+                public Object encode(Object value) {
+                    ByteBuffer buffer = serializationPair.write(value);
+                    byte[] bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                    return bytes;
+                }
+
+                @Override
+                public Object decode(Object stored) {
+                    return serializationPair.read(ByteBuffer.wrap((byte[]) stored));
+                }
+            };
+        }
+    }
+}
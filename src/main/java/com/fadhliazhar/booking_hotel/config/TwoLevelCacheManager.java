@@ -0,0 +1,149 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cache manager that layers a bounded Caffeine L1 over every cache of the Redis cache manager.
+ * <p>
+ * Writes are published on a Redis pub/sub channel as {@code nodeId|cacheName|op|key} messages and
+ * every other node drops the matching L1 entries. L1 is only used while {@link CacheInvalidationSubscriber}
+ * holds the subscription, and the L1 TTL bounds staleness if a message is lost.
+ * <p>
+ * L1 keeps the serialized form of Redis-backed values, so a hit can never hand out a DTO another caller
+ * mutates. Caches registered with {@link #setSharedValueCacheNames} hold immutable values instead, which
+ * L1 keeps by reference so a hit costs neither deserialization nor rebuilding the value.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final CacheManager remoteCacheManager;
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private Set<String> sharedValueCacheNames = Set.of();
+    private volatile boolean localCachingEnabled;
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, long localMaximumSize, Duration localTtl,
+                                StringRedisTemplate redisTemplate, String channel) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Caches whose values are immutable and safe to share between callers
+     */
+    public void setSharedValueCacheNames(Collection<String> sharedValueCacheNames) {
+        this.sharedValueCacheNames = Set.copyOf(sharedValueCacheNames);
+    }
+
+    public boolean isLocalCachingEnabled() {
+        return localCachingEnabled;
+    }
+
+    /**
+     * Turn L1 caching on once invalidations from other nodes are received, or off (dropping L1 entries)
+     * when they no longer are
+     */
+    public void setLocalCachingEnabled(boolean localCachingEnabled) {
+        this.localCachingEnabled = localCachingEnabled;
+        if (!localCachingEnabled) {
+            getCacheNames().stream()
+                    .map(this::localCache)
+                    .filter(Objects::nonNull)
+                    .forEach(TwoLevelCache::invalidateLocal);
+        }
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return remoteCacheManager.getCacheNames().stream()
+                .map(remoteCacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(this::createCache)
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        return remote != null ? createCache(remote) : null;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = localCache(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[2])) {
+            cache.invalidateLocal();
+        } else {
+            cache.invalidateLocal(parts[3]);
+        }
+        log.debug("L1 cache entry invalidated by remote node - Cache: {}, Key: {}", parts[1], parts[3]);
+    }
+
+    private TwoLevelCache createCache(Cache remote) {
+        return new TwoLevelCache(remote.getName(),
+                Caffeine.newBuilder()
+                        .maximumSize(localMaximumSize)
+                        .expireAfterWrite(localTtl)
+                        .build(),
+                remote instanceof RedisCache redisCache && !sharedValueCacheNames.contains(remote.getName())
+                        ? TwoLevelCache.LocalValueCodec.serializing(
+                                redisCache.getCacheConfiguration().getValueSerializationPair())
+                        : TwoLevelCache.LocalValueCodec.IDENTITY,
+                remote,
+                this::isLocalCachingEnabled,
+                this::publishInvalidation);
+    }
+
+    private TwoLevelCache localCache(String name) {
+        Cache cache = lookupCache(name);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return cache instanceof TwoLevelCache twoLevelCache ? twoLevelCache : null;
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        String message = String.join("|", nodeId, cacheName, key == null ? CLEAR : EVICT, key == null ? "" : key);
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to the L1 TTL
+            log.warn("Failed to publish cache invalidation - Cache: {}, Key: {}", cacheName, key, e);
+        }
+    }
+}
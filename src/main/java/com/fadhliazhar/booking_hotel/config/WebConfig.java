@@ -16,10 +16,10 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${app.cors.allowed-methods:GET,POST,PUT,DELETE,OPTIONS,PATCH}")
     private String[] allowedMethods;
 
-    @Value("${app.cors.allowed-headers:Content-Type,Authorization,X-Requested-With}")
+    @Value("${app.cors.allowed-headers:Content-Type,Authorization,X-Requested-With,If-None-Match}")
     private String[] allowedHeaders;
 
-    @Value("${app.cors.exposed-headers:Authorization}")
+    @Value("${app.cors.exposed-headers:Authorization,ETag}")
     private String[] exposedHeaders;
 
     @Value("${app.cors.allow-credentials:true}")
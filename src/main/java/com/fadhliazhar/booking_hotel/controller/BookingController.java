@@ -1,10 +1,15 @@
 package com.fadhliazhar.booking_hotel.controller;
 
+import com.fadhliazhar.booking_hotel.dto.booking.BookingExportFormat;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingStatusUpdateDTO;
 import com.fadhliazhar.booking_hotel.dto.common.PageRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.common.PageResponseDTO;
+import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.security.SecurityUtils;
+import com.fadhliazhar.booking_hotel.service.BookingExportService;
 import com.fadhliazhar.booking_hotel.service.BookingService;
 import com.fadhliazhar.booking_hotel.util.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,11 +22,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "Booking Management", description = "APIs for managing hotel bookings with OAuth2 security and comprehensive business rules")
@@ -31,6 +42,7 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @Operation(
         summary = "Get all bookings with pagination, sorting and search",
@@ -43,7 +55,12 @@ public class BookingController {
             
             **Caching:** Results are cached for improved performance
             
-            **Search:** Searches across firstName, lastName, and room number
+            **Search:** A number matches a booking ID or room ID exactly, a status name (e.g. BOOKED) matches
+            that status, and any other text is a full-text search on guest first and last name
+            
+            **Cursor mode:** Pass keyset=true (or a cursor) to page by (sort field, id) instead of offset.
+            The response omits totalElements/totalPages and returns nextCursor while more rows exist,
+            so deep pages cost the same as the first one.
             """
     )
     @ApiResponses(value = {
@@ -104,14 +121,20 @@ public class BookingController {
             @Parameter(description = "Page size (max 100)", example = "20")
             @RequestParam(defaultValue = "20") int size,
             
-            @Parameter(description = "Sort field", example = "id", schema = @Schema(allowableValues = {"id", "firstName", "lastName", "checkedInDate", "roomNumber"}))
+            @Parameter(description = "Sort field", example = "id", schema = @Schema(allowableValues = {"id", "firstName", "lastName", "checkedInDate", "checkedOutDate", "roomNumber"}))
             @RequestParam(defaultValue = "id") String sort,
             
             @Parameter(description = "Sort direction", example = "desc", schema = @Schema(allowableValues = {"asc", "desc"}))
             @RequestParam(defaultValue = "desc") String direction,
             
-            @Parameter(description = "Search term for filtering across firstName, lastName, and room number", example = "John")
-            @RequestParam(required = false) String search) {
+            @Parameter(description = "Search term: booking/room ID, booking status, or guest name words", example = "John")
+            @RequestParam(required = false) String search,
+            
+            @Parameter(description = "Use cursor pagination for the first page (no total count); later pages pass cursor", example = "false")
+            @RequestParam(defaultValue = "false") boolean keyset,
+            
+            @Parameter(description = "Opaque nextCursor from the previous cursor-mode page; page is ignored when set")
+            @RequestParam(required = false) String cursor) {
         
         PageRequestDTO pageRequest = new PageRequestDTO();
         pageRequest.setPage(page);
@@ -119,6 +142,8 @@ public class BookingController {
         pageRequest.setSort(sort);
         pageRequest.setDirection(direction);
         pageRequest.setSearch(search);
+        pageRequest.setKeyset(keyset);
+        pageRequest.setCursor(cursor);
         
         PageResponseDTO<BookingResponseDTO> bookings = bookingService.getAll(pageRequest);
         ApiResponse<PageResponseDTO<BookingResponseDTO>> response = ApiResponse.success("Success", bookings);
@@ -128,7 +153,7 @@ public class BookingController {
 
     @Operation(
         summary = "Get all bookings (Legacy endpoint)",
-        description = "Legacy endpoint without pagination. Use /api/v1/bookings instead.",
+        description = "Legacy endpoint without pagination. Use /api/v1/bookings, or /api/v1/bookings/export for bulk reads, instead.",
         deprecated = true
     )
     @ApiResponses(value = {
@@ -146,6 +171,125 @@ public class BookingController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Get my bookings",
+        description = """
+            Retrieves the bookings of the authenticated user, newest first.
+            
+            **Pagination:**
+            - Cursor pagination by booking id; pass `nextCursor` from the previous response as `cursor`
+            - Page size defaults to 20, max 100
+            
+            **Caching:** The first page of the default size is cached per user and refreshed on that user's booking changes
+            """
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved the user's bookings"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Bad Request - Invalid page size or cursor, or the token carries no user id"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid or missing JWT token"
+        )
+    })
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse<PageResponseDTO<BookingResponseDTO>>> getMyBookings(
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "" + BookingService.MY_BOOKINGS_PAGE_SIZE) int size,
+            
+            @Parameter(description = "Opaque nextCursor from the previous page")
+            @RequestParam(required = false) String cursor) {
+        String userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessValidationException("Access token does not identify a user"));
+        
+        PageResponseDTO<BookingResponseDTO> bookings = bookingService.getByUserId(userId, cursor, size);
+        ApiResponse<PageResponseDTO<BookingResponseDTO>> response = ApiResponse.success("Success", bookings);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Export bookings as a stream (Admin only)",
+        description = """
+            Streams bookings as NDJSON (one JSON object per line) or CSV without loading them into memory.
+            Intended for bulk reconciliation; use /api/v1/bookings for interactive listing.
+            
+            **Filters:**
+            - from / to: check-in date range, from inclusive and to exclusive
+            - status: booking status
+            
+            **Access Control:** Admin only
+            """
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Export stream",
+            content = {
+                @Content(
+                    mediaType = "application/x-ndjson",
+                    examples = @ExampleObject(
+                        name = "NDJSON",
+                        value = """
+                        {"id":1,"firstName":"John","lastName":"Doe","checkedInDate":"2024-01-15","checkedOutDate":"2024-01-17","adultCapacity":2,"childrenCapacity":0,"night":2,"roomId":101,"roomNumber":101,"bookingStatus":"BOOKED"}
+                        """
+                    )
+                ),
+                @Content(
+                    mediaType = "text/csv",
+                    examples = @ExampleObject(
+                        name = "CSV",
+                        value = """
+                        id,firstName,lastName,checkedInDate,checkedOutDate,adultCapacity,childrenCapacity,night,roomId,roomNumber,bookingStatus
+                        1,John,Doe,2024-01-15,2024-01-17,2,0,2,101,101,BOOKED
+                        """
+                    )
+                )
+            }
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid format or date range"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Access denied - Admin role required"
+        )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @Parameter(description = "Output format", example = "ndjson", schema = @Schema(allowableValues = {"ndjson", "csv"}))
+            @RequestParam(defaultValue = "ndjson") String format,
+            
+            @Parameter(description = "Earliest check-in date (inclusive)", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            
+            @Parameter(description = "Check-in date upper bound (exclusive)", example = "2024-02-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            
+            @Parameter(description = "Booking status filter", example = "BOOKED")
+            @RequestParam(required = false) BookingStatus status) {
+        
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+        bookingExportService.validateExportRequest(from, to);
+        
+        StreamingResponseBody body = outputStream ->
+                bookingExportService.export(from, to, status, exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("bookings." + exportFormat.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @Operation(
         summary = "Get booking by ID",
         description = """
@@ -1,11 +1,16 @@
 package com.fadhliazhar.booking_hotel.controller;
 
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityPageResponseDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityRequestDTO;
-import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilitySearchRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.service.AvailabilityCache;
 import com.fadhliazhar.booking_hotel.service.RoomService;
 import com.fadhliazhar.booking_hotel.util.ApiResponse;
+import com.fadhliazhar.booking_hotel.util.CachedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +21,9 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -30,6 +38,8 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class RoomController {
     private final RoomService roomService;
+    private final AvailabilityCache availabilityCache;
+    private final ObjectMapper objectMapper;
 
     @Operation(
         summary = "Get all rooms",
@@ -178,6 +188,12 @@ public class RoomController {
             - Returns the most affordable available room
             - Uses optimized database query for performance
             
+            **Caching:**
+            - Room data is cached already serialized and the response carries an `ETag` of it
+            - Prefer `GET /api/v1/rooms/available-room`, which answers a matching `If-None-Match` with `304 Not Modified`
+            - On this `POST` a matching `If-None-Match` fails with `412 Precondition Failed`
+            - Booking writes for overlapping dates invalidate the cached data
+            
             **Validation:**
             - Check-in date cannot be in the past
             - Check-out date must be after check-in date
@@ -246,10 +262,14 @@ public class RoomController {
                     """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "412",
+            description = "The room data still matches the `If-None-Match` ETag"
         )
     })
     @PostMapping("/available-room")
-    public ResponseEntity<ApiResponse<RoomAvailabilityResponseDTO>> getAvailableRoom(
+    public ResponseEntity<ApiResponse<RawValue>> getAvailableRoom(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                 description = "Room availability search criteria",
                 required = true,
@@ -269,9 +289,154 @@ public class RoomController {
                     )
                 )
             )
-            @Valid @RequestBody RoomAvailabilityRequestDTO request) {
-        RoomAvailabilityResponseDTO availableRoom = roomService.getAvailableRoom(request);
-        ApiResponse<RoomAvailabilityResponseDTO> response = ApiResponse.success("Success", availableRoom);
+            @Valid @RequestBody RoomAvailabilityRequestDTO request,
+            @Parameter(description = "ETag of a previous response; 412 Precondition Failed is returned while it still matches")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CachedResponse response = findAvailableRoom(request);
+        // Conditional requests other than GET and HEAD must fail rather than answer 304 (RFC 9110, section 13.1.2)
+        if (response.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(response.etag()).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .body(ApiResponse.success("Success", response.rawData()));
+    }
+
+    @Operation(
+        summary = "Find available room (conditional GET)",
+        description = """
+            Same lookup as `POST /api/v1/rooms/available-room`, with the criteria passed as query parameters.
+            
+            **Caching:**
+            - The response carries an `ETag` of the room data
+            - Send it back as `If-None-Match` to receive `304 Not Modified` while the result is unchanged
+            - Booking writes for overlapping dates invalidate the cached data
+            """
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Available room found successfully"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "The room data still matches the `If-None-Match` ETag"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "No available room found for the specified criteria"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Bad Request - Invalid date range or capacity values"
+        )
+    })
+    @GetMapping("/available-room")
+    public ResponseEntity<ApiResponse<RawValue>> getAvailableRoomConditionally(
+            @ParameterObject @Valid RoomAvailabilityRequestDTO request,
+            @Parameter(description = "ETag of a previous response; 304 Not Modified is returned while it still matches")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CachedResponse response = findAvailableRoom(request);
+        if (response.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(response.etag()).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .body(ApiResponse.success("Success", response.rawData()));
+    }
+
+    /**
+     * Hot searches are answered from the cached room data without reaching the service layer or serializing it;
+     * only the ApiResponse envelope is written per request
+     */
+    private CachedResponse findAvailableRoom(RoomAvailabilityRequestDTO request) {
+        return availabilityCache.getResponse(request,
+                () -> CachedResponse.of(objectMapper, roomService.getAvailableRoom(request)));
+    }
+
+    @Operation(
+        summary = "Search available rooms",
+        description = """
+            Returns every available room matching the criteria, ranked from cheapest to most expensive.
+            
+            **Filters:**
+            - Guest capacity and stay dates (required)
+            - Price range, room type and floor number (optional)
+            
+            **Pagination:**
+            - Keyset pagination ordered by (price, id)
+            - Pass `nextCursor` from the previous response as `cursor` to fetch the next page
+            - Page size defaults to 20, max 100
+            """
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Available rooms retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Available Rooms Response",
+                    value = """
+                    {
+                      "status": 200,
+                      "message": "Success",
+                      "data": {
+                        "content": [
+                          {
+                            "id": 1,
+                            "roomNumber": 101,
+                            "roomPrice": 150.00,
+                            "adultCapacity": 2,
+                            "childrenCapacity": 1,
+                            "roomType": "DELUXE",
+                            "floorNumber": 1
+                          }
+                        ],
+                        "size": 20,
+                        "hasNext": true,
+                        "nextCursor": "MTUwLjAwfDE"
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Bad Request - Invalid date range, price range or cursor"
+        )
+    })
+    @PostMapping("/available-rooms")
+    public ResponseEntity<ApiResponse<RoomAvailabilityPageResponseDTO>> searchAvailableRooms(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Room availability search criteria",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = RoomAvailabilitySearchRequestDTO.class),
+                    examples = @ExampleObject(
+                        name = "Availability Search Request",
+                        value = """
+                        {
+                          "numberOfAdults": 2,
+                          "numberOfChildren": 1,
+                          "checkInDate": "2024-01-15",
+                          "checkOutDate": "2024-01-17",
+                          "minPrice": 100.00,
+                          "maxPrice": 250.00,
+                          "roomType": "DELUXE",
+                          "size": 20
+                        }
+                        """
+                    )
+                )
+            )
+            @Valid @RequestBody RoomAvailabilitySearchRequestDTO request) {
+        RoomAvailabilityPageResponseDTO availableRooms = roomService.searchAvailableRooms(request);
+        ApiResponse<RoomAvailabilityPageResponseDTO> response = ApiResponse.success("Success", availableRooms);
 
         return ResponseEntity.ok(response);
     }
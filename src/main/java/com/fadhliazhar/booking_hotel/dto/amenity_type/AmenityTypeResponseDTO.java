@@ -1,15 +1,20 @@
 package com.fadhliazhar.booking_hotel.dto.amenity_type;
 
-import lombok.Data;
+import com.fadhliazhar.booking_hotel.dto.common.CatalogEntry;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 
-@Data
-public class AmenityTypeResponseDTO {
-    private Long id;
-    private String name;
-    private String description;
-    private Boolean isActive;
-    private LocalDateTime createdOn;
-    private LocalDateTime updatedOn;
+@Value
+@Builder
+@Jacksonized
+public class AmenityTypeResponseDTO implements CatalogEntry {
+    Long id;
+    String name;
+    String description;
+    Boolean isActive;
+    LocalDateTime createdOn;
+    LocalDateTime updatedOn;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.fadhliazhar.booking_hotel.dto.booking;
+
+import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Booking state carried by an outbox event, as it was when the change was committed.
+ * {@code previousStatus} is only set on status changes.
+ */
+public record BookingEventPayload(
+        Long bookingId,
+        String userId,
+        Long roomId,
+        LocalDate checkedInDate,
+        LocalDate checkedOutDate,
+        BookingStatus bookingStatus,
+        BookingStatus previousStatus,
+        BigDecimal totalAmount) {
+
+    public static BookingEventPayload of(Booking booking, BookingStatus previousStatus) {
+        return new BookingEventPayload(booking.getId(), booking.getUserId(), booking.getRoomId(),
+                booking.getCheckedInDate(), booking.getCheckedOutDate(), booking.getBookingStatus(),
+                previousStatus, booking.getTotalAmount());
+    }
+}
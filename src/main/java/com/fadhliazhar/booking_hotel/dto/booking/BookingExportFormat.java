@@ -0,0 +1,27 @@
+package com.fadhliazhar.booking_hotel.dto.booking;
+
+import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Output formats supported by the streaming booking export
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BookingExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    public static BookingExportFormat from(String value) {
+        for (BookingExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessValidationException("Unsupported export format: " + value + ". Use ndjson or csv");
+    }
+}
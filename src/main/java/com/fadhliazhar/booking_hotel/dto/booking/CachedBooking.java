@@ -0,0 +1,8 @@
+package com.fadhliazhar.booking_hotel.dto.booking;
+
+/**
+ * Booking detail as held in the booking details cache, with the owning user id kept next to the response
+ * so access can be checked on every cache hit
+ */
+public record CachedBooking(String userId, BookingResponseDTO booking) {
+}
@@ -0,0 +1,12 @@
+package com.fadhliazhar.booking_hotel.dto.common;
+
+/**
+ * Catalog item that can be looked up by id and name in a {@link CatalogSnapshot}
+ */
+public interface CatalogEntry {
+    Long getId();
+
+    String getName();
+
+    Boolean getIsActive();
+}
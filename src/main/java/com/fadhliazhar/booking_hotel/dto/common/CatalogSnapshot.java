@@ -0,0 +1,55 @@
+package com.fadhliazhar.booking_hotel.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable view of a small catalog: every entry sorted by name, the active entries in the same order,
+ * and lookups by id. Only the entries are serialized; the id index is rebuilt on read.
+ * <p>
+ * Entries are immutable too, so the node-local cache shares one snapshot between all readers.
+ */
+public final class CatalogSnapshot<T extends CatalogEntry> {
+    private final List<T> entries;
+    private final List<T> activeEntries;
+    private final Map<Long, T> entriesById;
+
+    @JsonCreator
+    public CatalogSnapshot(@JsonProperty("entries") List<T> entries) {
+        List<T> sorted = entries.stream()
+                .sorted(Comparator.comparing(CatalogEntry::getName, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+        Map<Long, T> byId = new LinkedHashMap<>();
+        for (T entry : sorted) {
+            byId.put(entry.getId(), entry);
+        }
+        this.entries = sorted;
+        this.activeEntries = sorted.stream().filter(entry -> Boolean.TRUE.equals(entry.getIsActive())).toList();
+        this.entriesById = Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * All entries sorted by name
+     */
+    public List<T> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Active entries sorted by name
+     */
+    public List<T> activeEntries() {
+        return activeEntries;
+    }
+
+    public Optional<T> findById(Long id) {
+        return Optional.ofNullable(entriesById.get(id));
+    }
+}
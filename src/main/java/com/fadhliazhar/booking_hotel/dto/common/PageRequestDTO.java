@@ -18,4 +18,13 @@ public class PageRequestDTO {
     private String direction = "asc";
 
     private String search;
+
+    // Keyset (cursor) mode: no total count, each page continues after the cursor position
+    private boolean keyset;
+
+    private String cursor;
+
+    public boolean isKeysetMode() {
+        return keyset || (cursor != null && !cursor.isBlank());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.fadhliazhar.booking_hotel.dto.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
@@ -7,19 +8,23 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PageResponseDTO<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    // Null in cursor mode, which skips the count query
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
     private boolean empty;
     private String sort;
     private String direction;
+    // Opaque keyset cursor for the next page; only set in cursor mode while more rows exist
+    private String nextCursor;
 
     public static <T> PageResponseDTO<T> of(List<T> content, int page, int size, long totalElements, 
                                            int totalPages, boolean first, boolean last, boolean empty, 
@@ -37,4 +42,18 @@ public class PageResponseDTO<T> {
         response.setDirection(direction);
         return response;
     }
-}
\ No newline at end of file
+
+    public static <T> PageResponseDTO<T> ofSlice(List<T> content, int size, boolean first, boolean hasNext,
+                                                String nextCursor, String sort, String direction) {
+        PageResponseDTO<T> response = new PageResponseDTO<>();
+        response.setContent(content);
+        response.setSize(size);
+        response.setFirst(first);
+        response.setLast(!hasNext);
+        response.setEmpty(content.isEmpty());
+        response.setSort(sort);
+        response.setDirection(direction);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+}
@@ -0,0 +1,17 @@
+package com.fadhliazhar.booking_hotel.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAvailabilityPageResponseDTO {
+    private List<RoomAvailabilityResponseDTO> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
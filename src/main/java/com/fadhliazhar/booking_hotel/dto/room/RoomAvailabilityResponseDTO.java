@@ -11,4 +11,6 @@ public class RoomAvailabilityResponseDTO {
     private BigDecimal roomPrice;
     private Integer adultCapacity;
     private Integer childrenCapacity;
+    private String roomType;
+    private Integer floorNumber;
 }
@@ -0,0 +1,29 @@
+package com.fadhliazhar.booking_hotel.dto.room;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class RoomAvailabilitySearchRequestDTO extends RoomAvailabilityRequestDTO {
+    @DecimalMin(value = "0.0", message = "Minimum price cannot be negative")
+    private BigDecimal minPrice;
+
+    @DecimalMin(value = "0.0", message = "Maximum price cannot be negative")
+    private BigDecimal maxPrice;
+
+    private String roomType;
+
+    private Integer floorNumber;
+
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = 100, message = "Page size must not exceed 100")
+    private int size = 20;
+
+    private String cursor;
+}
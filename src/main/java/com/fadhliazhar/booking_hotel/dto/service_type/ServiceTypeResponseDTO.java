@@ -1,17 +1,22 @@
 package com.fadhliazhar.booking_hotel.dto.service_type;
 
-import lombok.Data;
+import com.fadhliazhar.booking_hotel.dto.common.CatalogEntry;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-@Data
-public class ServiceTypeResponseDTO {
-    private Long id;
-    private String name;
-    private String description;
-    private BigDecimal defaultPrice;
-    private Boolean isActive;
-    private LocalDateTime createdOn;
-    private LocalDateTime updatedOn;
+@Value
+@Builder
+@Jacksonized
+public class ServiceTypeResponseDTO implements CatalogEntry {
+    Long id;
+    String name;
+    String description;
+    BigDecimal defaultPrice;
+    Boolean isActive;
+    LocalDateTime createdOn;
+    LocalDateTime updatedOn;
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.fadhliazhar.booking_hotel.exception;
 import com.fadhliazhar.booking_hotel.util.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -158,6 +159,20 @@ public class GlobalExceptionHandler {
             .body(ApiResponse.error(HttpStatus.CONFLICT.value(), message, null));
     }
 
+    /**
+     * Handle lock wait timeouts and deadlocks on contended rows (e.g. the same room booked concurrently)
+     */
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<?>> handlePessimisticLockingFailure(
+            PessimisticLockingFailureException ex, HttpServletRequest request) {
+        
+        log.warn("Lock conflict on path: {} - Error: {}", request.getRequestURI(), ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(ApiResponse.error(HttpStatus.CONFLICT.value(),
+                    "The resource is being modified by another request, please retry", null));
+    }
+
     /**
      * Handle authentication exceptions
      */
@@ -4,9 +4,12 @@ import com.fadhliazhar.booking_hotel.dto.booking.BookingRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
 import com.fadhliazhar.booking_hotel.model.Booking;
 import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.model.Room;
 import com.fadhliazhar.booking_hotel.repository.RoomRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -31,8 +34,11 @@ public class BookingMapper {
         dto.setRoomId(booking.getRoomId());
         dto.setBookingStatus(booking.getBookingStatus());
 
-        // Fetch room number based on roomId
-        if (booking.getRoomId() != null) {
+        // Write paths hand over the room they locked; otherwise fetch room number based on roomId
+        Room room = booking.getRoom();
+        if (room != null && Hibernate.isInitialized(room) && room.getRoomNumber() != null) {
+            dto.setRoomNumber(room.getRoomNumber());
+        } else if (booking.getRoomId() != null) {
             try {
                 Integer roomNumber = roomRepository.findRoomNumberById(booking.getRoomId());
                 dto.setRoomNumber(roomNumber);
@@ -46,6 +52,23 @@ public class BookingMapper {
         return dto;
     }
 
+    public BookingResponseDTO toResponseDTO(BookingSummaryProjection booking) {
+        BookingResponseDTO dto = new BookingResponseDTO();
+        dto.setId(booking.getId());
+        dto.setFirstName(booking.getFirstName());
+        dto.setLastName(booking.getLastName());
+        dto.setCheckedInDate(booking.getCheckedInDate());
+        dto.setCheckedOutDate(booking.getCheckedOutDate());
+        dto.setAdultCapacity(booking.getAdultCapacity());
+        dto.setChildrenCapacity(booking.getChildrenCapacity());
+        dto.setNight(booking.getNight());
+        dto.setRoomId(booking.getRoomId());
+        dto.setRoomNumber(booking.getRoomNumber());
+        dto.setBookingStatus(booking.getBookingStatus());
+
+        return dto;
+    }
+
     public List<BookingResponseDTO> toResponseDTOs(List<Booking> bookings) {
         return bookings.stream()
                 .map(this::toResponseDTO)
@@ -5,6 +5,7 @@ import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityResponseDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
 import com.fadhliazhar.booking_hotel.model.Room;
+import com.fadhliazhar.booking_hotel.repository.projection.RoomSummaryProjection;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -32,6 +33,25 @@ public class RoomMapper {
                 .collect(Collectors.toList());
     }
 
+    public RoomResponseDTO toResponseDTO(RoomSummaryProjection room) {
+        RoomResponseDTO dto = new RoomResponseDTO();
+        dto.setId(room.getId());
+        dto.setRoomNumber(room.getRoomNumber());
+        dto.setRoomPrice(room.getRoomPrice());
+        dto.setAdultCapacity(room.getAdultCapacity());
+        dto.setChildrenCapacity(room.getChildrenCapacity());
+        dto.setCreatedOn(room.getCreatedAt());
+        dto.setUpdatedOn(room.getUpdatedAt());
+
+        return dto;
+    }
+
+    public List<RoomResponseDTO> toSummaryResponseDTOs(List<RoomSummaryProjection> rooms) {
+        return rooms.stream()
+                .map(this::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
     public Room toEntity(RoomRequestDTO requestDTO) {
         Room room = new Room();
         room.setRoomNumber(requestDTO.getRoomNumber());
@@ -53,6 +73,8 @@ public class RoomMapper {
         toDTO.setRoomPrice(availableRoom.getRoomPrice());
         toDTO.setAdultCapacity(availableRoom.getAdultCapacity());
         toDTO.setChildrenCapacity(availableRoom.getChildrenCapacity());
+        toDTO.setRoomType(availableRoom.getRoomType());
+        toDTO.setFloorNumber(availableRoom.getFloorNumber());
 
         return toDTO;
     }
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,7 +22,17 @@ import java.time.temporal.ChronoUnit;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_room_status_dates",
+                columnList = "room_id, booking_status, checked_in_date, checked_out_date"),
+        @Index(name = "idx_bookings_status_checked_out", columnList = "booking_status, checked_out_date"),
+        @Index(name = "idx_bookings_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_bookings_first_name", columnList = "first_name"),
+        @Index(name = "idx_bookings_last_name", columnList = "last_name"),
+        @Index(name = "idx_bookings_checked_in_date", columnList = "checked_in_date"),
+        @Index(name = "idx_bookings_checked_out_date", columnList = "checked_out_date"),
+        @Index(name = "idx_bookings_updated_at", columnList = "updated_at")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -64,6 +75,12 @@ public class Booking {
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
 
+    // Read-only copy of the room foreign key, so a query joining the room can still filter on bookings.room_id
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "room_id", insertable = false, updatable = false)
+    private Long roomForeignKey;
+
     @NotNull(message = "Booking status is required")
     @Enumerated(EnumType.STRING)
     @Column(name = "booking_status", nullable = false)
@@ -87,8 +104,15 @@ public class Booking {
     private LocalDateTime updatedAt;
 
     public int getNight() {
-        if (this.checkedInDate != null && this.checkedOutDate != null) {
-            long diffInDays = ChronoUnit.DAYS.between(this.checkedInDate, this.checkedOutDate);
+        return nights(this.checkedInDate, this.checkedOutDate);
+    }
+
+    /**
+     * Nights charged for a stay, at least one once both dates are known
+     */
+    public static int nights(LocalDate checkedInDate, LocalDate checkedOutDate) {
+        if (checkedInDate != null && checkedOutDate != null) {
+            long diffInDays = ChronoUnit.DAYS.between(checkedInDate, checkedOutDate);
             return (int) Math.max(diffInDays, 1); // Minimum 1 night
         }
         return 0;
@@ -0,0 +1,8 @@
+package com.fadhliazhar.booking_hotel.model;
+
+public enum BookingEventType {
+    BOOKING_CREATED,
+    BOOKING_UPDATED,
+    BOOKING_STATUS_CHANGED,
+    BOOKING_DELETED
+}
@@ -0,0 +1,49 @@
+package com.fadhliazhar.booking_hotel.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking lifecycle event waiting in the outbox, written in the transaction that changed the booking.
+ * {@code publishedAt} stays null until the publisher has handed the event to the sink.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "booking_outbox", indexes = {
+        @Index(name = "idx_booking_outbox_published_at", columnList = "published_at, id")
+})
+public class BookingOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private BookingEventType eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public BookingOutboxEvent(Long bookingId, BookingEventType eventType, String payload) {
+        this.bookingId = bookingId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+}
@@ -22,6 +22,9 @@ import java.util.List;
 @Entity
 @Table(name = "rooms", uniqueConstraints = {
     @UniqueConstraint(columnNames = "room_number")
+}, indexes = {
+    @Index(name = "idx_rooms_price_id", columnList = "room_price, id"),
+    @Index(name = "idx_rooms_updated_at", columnList = "updated_at")
 })
 public class Room {
     @Id
@@ -0,0 +1,36 @@
+package com.fadhliazhar.booking_hotel.repository;
+
+import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Sort keys allowed in keyset (cursor) pagination of bookings, with the JPQL path and cursor value parser.
+ * Every key is combined with the booking id as a tie-breaker and backed by a bookings index, so a page is read
+ * in index order; sorting by a room column would need a filesort of the whole filtered set on every page.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BookingKeysetSort {
+    ID("id", "b.id", Long::valueOf),
+    FIRST_NAME("firstName", "b.firstName", value -> value),
+    LAST_NAME("lastName", "b.lastName", value -> value),
+    CHECKED_IN_DATE("checkedInDate", "b.checkedInDate", LocalDate::parse),
+    CHECKED_OUT_DATE("checkedOutDate", "b.checkedOutDate", LocalDate::parse);
+
+    private final String property;
+    private final String path;
+    private final Function<String, Object> parser;
+
+    public static BookingKeysetSort fromProperty(String property) {
+        for (BookingKeysetSort sort : values()) {
+            if (sort.property.equals(property)) {
+                return sort;
+            }
+        }
+        throw new BusinessValidationException("Sort field '" + property + "' is not supported in cursor mode");
+    }
+}
@@ -0,0 +1,40 @@
+package com.fadhliazhar.booking_hotel.repository;
+
+import com.fadhliazhar.booking_hotel.model.BookingOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingOutboxRepository extends JpaRepository<BookingOutboxEvent, Long> {
+
+    /**
+     * Oldest unpublished events, row-locked until the transaction ends. A publisher on another node waits on
+     * these rows and then moves past them once they are marked published, so only one node publishes at a time
+     * and no event overtakes an earlier one. Run it under READ COMMITTED, where InnoDB takes no gap locks that
+     * would block booking transactions inserting new events.
+     */
+    @Query(value = """
+            SELECT * FROM booking_outbox
+            WHERE published_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<BookingOutboxEvent> lockUnpublishedBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE BookingOutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Delete up to {@code limit} events published before the cutoff, keeping each purge transaction short
+     */
+    @Modifying
+    @Query(value = "DELETE FROM booking_outbox WHERE published_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -1,21 +1,176 @@
 package com.fadhliazhar.booking_hotel.repository;
 
 import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingStayChangeProjection;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingStayProjection;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
+import jakarta.persistence.QueryHint;
 import lombok.NonNull;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    String SUMMARY_SELECT = "SELECT b.id AS id, b.firstName AS firstName, b.lastName AS lastName, " +
+            "b.checkedInDate AS checkedInDate, b.checkedOutDate AS checkedOutDate, " +
+            "b.adultCapacity AS adultCapacity, b.childrenCapacity AS childrenCapacity, " +
+            "r.id AS roomId, r.roomNumber AS roomNumber, b.bookingStatus AS bookingStatus, b.userId AS userId " +
+            "FROM Booking b JOIN b.room r ";
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
     boolean existsById(@NonNull Long bookingId);
-    
-    @Query("SELECT b FROM Booking b WHERE " +
-           "(:search IS NULL OR :search = '' OR " +
-           "LOWER(CONCAT(b.firstName, ' ', b.lastName)) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "CAST(b.id AS string) LIKE CONCAT('%', :search, '%') OR " +
-           "CAST(b.room.id AS string) LIKE CONCAT('%', :search, '%') OR " +
-           "LOWER(CAST(b.bookingStatus AS string)) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Booking> findAllWithSearch(@Param("search") String search, Pageable pageable);
+
+    /**
+     * One booking with its room, in its own read-only transaction so callers outside a transaction can map it
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.room WHERE b.id = :id")
+    Optional<Booking> findWithRoomById(@Param("id") Long id);
+
+    /**
+     * Booking list rows for a search term, each search mode served by its own indexed query
+     */
+    default Page<BookingSummaryProjection> searchSummaries(BookingSearchCriteria criteria, Pageable pageable) {
+        return switch (criteria.mode()) {
+            case NONE -> findSummaries(pageable);
+            case ID -> findSummariesByBookingOrRoomId(criteria.number(), pageable);
+            case STATUS -> findSummariesByStatus(criteria.status(), pageable);
+            case GUEST_NAME -> findSummariesByGuestName(criteria.fullTextQuery(), pageable);
+            case NO_MATCH -> Page.empty(pageable);
+        };
+    }
+
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(b) FROM Booking b")
+    Page<BookingSummaryProjection> findSummaries(Pageable pageable);
+
+    /**
+     * Both predicates on the bookings table (primary key and room foreign key), so MySQL can union two index lookups
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE b.id = :id OR b.roomForeignKey = :id",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.id = :id OR b.roomForeignKey = :id")
+    Page<BookingSummaryProjection> findSummariesByBookingOrRoomId(@Param("id") Long id, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE b.bookingStatus = :status",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.bookingStatus = :status")
+    Page<BookingSummaryProjection> findSummariesByStatus(@Param("status") BookingStatus status, Pageable pageable);
+
+    /**
+     * Guest name search backed by the ft_bookings_guest_name full-text index (MySQL boolean mode query)
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE match_against(b.firstName, b.lastName, :query) > 0",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE match_against(b.firstName, b.lastName, :query) > 0")
+    Page<BookingSummaryProjection> findSummariesByGuestName(@Param("query") String query, Pageable pageable);
+
+    /**
+     * All bookings as list rows, with the room number joined in the same query
+     */
+    @Query(SUMMARY_SELECT)
+    List<BookingSummaryProjection> findAllSummaries();
+
+    /**
+     * Forward-only stream of booking rows for exports. The MySQL driver streams rows one at a time when the
+     * fetch size is Integer.MIN_VALUE, so memory stays flat regardless of table size. Must be consumed and
+     * closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUMMARY_SELECT +
+           "WHERE (:fromDate IS NULL OR b.checkedInDate >= :fromDate) " +
+           "AND (:toDate IS NULL OR b.checkedInDate < :toDate) " +
+           "AND (:status IS NULL OR b.bookingStatus = :status) " +
+           "ORDER BY b.id")
+    Stream<BookingSummaryProjection> streamSummaries(@Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate,
+                                                     @Param("status") BookingStatus status);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
+           "WHERE b.room.id = :roomId " +
+           "AND b.bookingStatus IN (com.fadhliazhar.booking_hotel.model.BookingStatus.BOOKED, " +
+           "com.fadhliazhar.booking_hotel.model.BookingStatus.CHECKED_IN) " +
+           "AND b.checkedInDate < :checkOutDate AND b.checkedOutDate > :checkInDate")
+    boolean existsOverlappingBooking(@Param("roomId") Long roomId,
+                                     @Param("checkInDate") LocalDate checkInDate,
+                                     @Param("checkOutDate") LocalDate checkOutDate);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
+           "WHERE b.room.id = :roomId AND b.id <> :excludedBookingId " +
+           "AND b.bookingStatus IN (com.fadhliazhar.booking_hotel.model.BookingStatus.BOOKED, " +
+           "com.fadhliazhar.booking_hotel.model.BookingStatus.CHECKED_IN) " +
+           "AND b.checkedInDate < :checkOutDate AND b.checkedOutDate > :checkInDate")
+    boolean existsOverlappingBookingExcluding(@Param("roomId") Long roomId,
+                                              @Param("checkInDate") LocalDate checkInDate,
+                                              @Param("checkOutDate") LocalDate checkOutDate,
+                                              @Param("excludedBookingId") Long excludedBookingId);
+
+    @Query("SELECT DISTINCT b.room.id FROM Booking b " +
+           "WHERE b.room.id IN :roomIds " +
+           "AND b.bookingStatus IN (com.fadhliazhar.booking_hotel.model.BookingStatus.BOOKED, " +
+           "com.fadhliazhar.booking_hotel.model.BookingStatus.CHECKED_IN) " +
+           "AND b.checkedInDate < :checkOutDate AND b.checkedOutDate > :checkInDate")
+    List<Long> findRoomIdsWithOverlappingBooking(@Param("roomIds") Collection<Long> roomIds,
+                                                 @Param("checkInDate") LocalDate checkInDate,
+                                                 @Param("checkOutDate") LocalDate checkOutDate);
+
+    /**
+     * Upcoming or current BOOKED / CHECKED_IN bookings as list rows, read in id order one keyset page at a time
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE b.bookingStatus IN (com.fadhliazhar.booking_hotel.model.BookingStatus.BOOKED, " +
+           "com.fadhliazhar.booking_hotel.model.BookingStatus.CHECKED_IN) " +
+           "AND b.checkedOutDate > :fromDate AND b.id > :afterId " +
+           "ORDER BY b.id")
+    List<BookingSummaryProjection> findActiveSummariesEndingAfter(@Param("fromDate") LocalDate fromDate,
+                                                                  @Param("afterId") Long afterId,
+                                                                  Pageable pageable);
+
+    /**
+     * One user's bookings as list rows, newest first, read one keyset page at a time
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE b.userId = :userId AND b.id < :beforeId " +
+           "ORDER BY b.id DESC")
+    List<BookingSummaryProjection> findSummariesByUserIdBefore(@Param("userId") String userId,
+                                                                @Param("beforeId") Long beforeId,
+                                                                Pageable pageable);
+
+    @Query("SELECT b.id AS id, b.room.id AS roomId, b.checkedInDate AS checkedInDate, b.checkedOutDate AS checkedOutDate " +
+           "FROM Booking b " +
+           "WHERE b.bookingStatus IN (com.fadhliazhar.booking_hotel.model.BookingStatus.BOOKED, " +
+           "com.fadhliazhar.booking_hotel.model.BookingStatus.CHECKED_IN) " +
+           "AND b.checkedOutDate > :fromDate")
+    List<BookingStayProjection> findActiveStaysEndingAfter(@Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT b.id AS id, b.room.id AS roomId, b.checkedInDate AS checkedInDate, b.checkedOutDate AS checkedOutDate " +
+           "FROM Booking b " +
+           "WHERE b.room.id = :roomId " +
+           "AND b.bookingStatus IN (com.fadhliazhar.booking_hotel.model.BookingStatus.BOOKED, " +
+           "com.fadhliazhar.booking_hotel.model.BookingStatus.CHECKED_IN) " +
+           "AND b.checkedOutDate > :fromDate")
+    List<BookingStayProjection> findActiveStaysByRoomEndingAfter(@Param("roomId") Long roomId,
+                                                                 @Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Stays of every booking written after the given time, whatever its status, so cancellations and
+     * check-outs are seen as well
+     */
+    @Query("SELECT b.id AS id, b.room.id AS roomId, b.checkedInDate AS checkedInDate, b.checkedOutDate AS checkedOutDate, " +
+           "b.bookingStatus AS bookingStatus " +
+           "FROM Booking b " +
+           "WHERE b.updatedAt > :since")
+    List<BookingStayChangeProjection> findStaysUpdatedAfter(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,18 @@
+package com.fadhliazhar.booking_hotel.repository;
+
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
+
+import java.util.List;
+
+/**
+ * Booking queries whose JPQL depends on runtime options and cannot be declared with @Query
+ */
+public interface BookingRepositoryCustom {
+
+    /**
+     * Booking rows matching the search criteria ordered by (sort key, id), starting strictly after the
+     * given position. A null afterId starts from the beginning. No count query is issued.
+     */
+    List<BookingSummaryProjection> findSummariesAfter(BookingSearchCriteria criteria, BookingKeysetSort sort, boolean ascending,
+                                                      Object afterValue, Long afterId, int limit);
+}
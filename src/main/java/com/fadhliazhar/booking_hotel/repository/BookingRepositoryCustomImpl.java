@@ -0,0 +1,71 @@
+package com.fadhliazhar.booking_hotel.repository;
+
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingSummaryProjection> findSummariesAfter(BookingSearchCriteria criteria, BookingKeysetSort sort, boolean ascending,
+                                                             Object afterValue, Long afterId, int limit) {
+        String comparison = ascending ? ">" : "<";
+        String direction = ascending ? "ASC" : "DESC";
+
+        StringBuilder jpql = new StringBuilder()
+                .append("SELECT new ").append(BookingSummaryRow.class.getName())
+                .append("(b.id, b.firstName, b.lastName, b.checkedInDate, b.checkedOutDate, ")
+                .append("b.adultCapacity, b.childrenCapacity, r.id, r.roomNumber, b.bookingStatus, b.userId) ")
+                .append("FROM Booking b JOIN b.room r WHERE ")
+                .append(switch (criteria.mode()) {
+                    case NONE -> "1 = 1";
+                    case ID -> "(b.id = :id OR b.roomForeignKey = :id)";
+                    case STATUS -> "b.bookingStatus = :status";
+                    case GUEST_NAME -> "match_against(b.firstName, b.lastName, :query) > 0";
+                    // MySQL resolves this as an impossible WHERE without reading any rows
+                    case NO_MATCH -> "1 = 0";
+                });
+
+        if (afterId != null) {
+            if (sort == BookingKeysetSort.ID) {
+                jpql.append(" AND b.id ").append(comparison).append(" :afterId");
+            } else {
+                jpql.append(" AND (").append(sort.getPath()).append(' ').append(comparison).append(" :afterValue")
+                        .append(" OR (").append(sort.getPath()).append(" = :afterValue")
+                        .append(" AND b.id ").append(comparison).append(" :afterId))");
+            }
+        }
+
+        List<String> orderBy = new ArrayList<>();
+        if (sort != BookingKeysetSort.ID) {
+            orderBy.add(sort.getPath() + " " + direction);
+        }
+        orderBy.add("b.id " + direction);
+        jpql.append(" ORDER BY ").append(String.join(", ", orderBy));
+
+        TypedQuery<BookingSummaryRow> query = entityManager.createQuery(jpql.toString(), BookingSummaryRow.class)
+                .setMaxResults(limit);
+        switch (criteria.mode()) {
+            case ID -> query.setParameter("id", criteria.number());
+            case STATUS -> query.setParameter("status", criteria.status());
+            case GUEST_NAME -> query.setParameter("query", criteria.fullTextQuery());
+            case NONE, NO_MATCH -> { }
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (sort != BookingKeysetSort.ID) {
+                query.setParameter("afterValue", afterValue);
+            }
+        }
+
+        return new ArrayList<>(query.getResultList());
+    }
+}
@@ -0,0 +1,54 @@
+package com.fadhliazhar.booking_hotel.repository;
+
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * A booking search term routed to the narrowest indexed predicate: numbers match booking or room ids
+ * exactly, status names match the status column, and anything else is a full-text guest name query.
+ * A search with no term long enough for the full-text index matches nothing rather than everything.
+ */
+public record BookingSearchCriteria(Mode mode, Long number, BookingStatus status, String fullTextQuery) {
+
+    // Matches the server's ngram_token_size; shorter terms cannot hit the ngram full-text index
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_ID_DIGITS = 18;
+
+    public enum Mode {
+        NONE,
+        ID,
+        STATUS,
+        GUEST_NAME,
+        NO_MATCH
+    }
+
+    private static final BookingSearchCriteria NONE = new BookingSearchCriteria(Mode.NONE, null, null, null);
+    private static final BookingSearchCriteria NO_MATCH = new BookingSearchCriteria(Mode.NO_MATCH, null, null, null);
+
+    public static BookingSearchCriteria parse(String search) {
+        if (search == null || search.isBlank()) {
+            return NONE;
+        }
+
+        String term = search.trim();
+        if (term.length() <= MAX_ID_DIGITS && term.chars().allMatch(Character::isDigit)) {
+            return new BookingSearchCriteria(Mode.ID, Long.valueOf(term), null, null);
+        }
+
+        for (BookingStatus status : BookingStatus.values()) {
+            if (status.name().equalsIgnoreCase(term.replace(' ', '_'))) {
+                return new BookingSearchCriteria(Mode.STATUS, null, status, null);
+            }
+        }
+
+        // Every word must match; boolean-mode operators in user input are dropped with the separators
+        String query = Arrays.stream(term.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> word.length() >= MIN_TERM_LENGTH)
+                .map(word -> "+" + word)
+                .collect(Collectors.joining(" "));
+
+        return query.isEmpty() ? NO_MATCH : new BookingSearchCriteria(Mode.GUEST_NAME, null, null, query);
+    }
+}
@@ -1,19 +1,43 @@
 package com.fadhliazhar.booking_hotel.repository;
 
 import com.fadhliazhar.booking_hotel.model.Room;
+import com.fadhliazhar.booking_hotel.repository.projection.RoomSummaryProjection;
+import jakarta.persistence.LockModeType;
 import lombok.NonNull;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
     boolean existsByRoomNumber(Integer roomNumber);
     boolean existsById(@NonNull Long roomId);
 
+    /**
+     * Load a room with SELECT ... FOR UPDATE, serializing reservations of the same room until commit
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :roomId")
+    Optional<Room> findByIdForUpdate(@Param("roomId") Long roomId);
+
+    @Query("SELECT r.id AS id, r.roomNumber AS roomNumber, r.roomPrice AS roomPrice, " +
+           "r.adultCapacity AS adultCapacity, r.childrenCapacity AS childrenCapacity, " +
+           "r.createdAt AS createdAt, r.updatedAt AS updatedAt FROM Room r")
+    List<RoomSummaryProjection> findAllSummaries(Sort sort);
+
+    /**
+     * Rooms written after the given time
+     */
+    List<Room> findByUpdatedAtAfter(LocalDateTime since);
+
     @Query("SELECT r.roomNumber FROM Room r WHERE r.id = :roomId")
     Integer findRoomNumberById(@Param("roomId") Long roomId);
 
@@ -41,4 +65,44 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
             @Param("checkInDate") LocalDate checkInDate,
             @Param("checkOutDate") LocalDate checkOutDate
     );
+
+    @Query(value = """
+            SELECT r.*
+            FROM rooms r
+            WHERE r.adult_capacity >= :numberOfAdults
+            AND (r.adult_capacity + r.children_capacity) >= (:numberOfAdults + :numberOfChildren)
+            AND (:minPrice IS NULL OR r.room_price >= :minPrice)
+            AND (:maxPrice IS NULL OR r.room_price <= :maxPrice)
+            AND (:roomType IS NULL OR r.room_type = :roomType)
+            AND (:floorNumber IS NULL OR r.floor_number = :floorNumber)
+            AND r.room_price IS NOT NULL
+            AND (:afterPrice IS NULL
+                OR r.room_price > :afterPrice
+                OR (r.room_price = :afterPrice AND r.id > :afterId))
+            AND NOT EXISTS (
+                SELECT 1
+                FROM bookings b
+                WHERE b.room_id = r.id
+                AND b.booking_status IN ('BOOKED', 'CHECKED_IN')
+                AND NOT (
+                    b.checked_out_date <= :checkInDate
+                    OR b.checked_in_date >= :checkOutDate
+                )
+            )
+            ORDER BY r.room_price ASC, r.id ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Room> searchAvailableRooms(
+            @Param("numberOfAdults") int numberOfAdults,
+            @Param("numberOfChildren") int numberOfChildren,
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("roomType") String roomType,
+            @Param("floorNumber") Integer floorNumber,
+            @Param("afterPrice") BigDecimal afterPrice,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
 }
@@ -0,0 +1,11 @@
+package com.fadhliazhar.booking_hotel.repository.projection;
+
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+
+/**
+ * A booking's occupied date range together with its status, used to apply recent booking writes to the
+ * in-memory availability index
+ */
+public interface BookingStayChangeProjection extends BookingStayProjection {
+    BookingStatus getBookingStatus();
+}
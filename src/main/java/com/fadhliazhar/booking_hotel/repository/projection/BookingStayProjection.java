@@ -0,0 +1,16 @@
+package com.fadhliazhar.booking_hotel.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Minimal view of a booking's occupied date range, used to build the in-memory availability index
+ */
+public interface BookingStayProjection {
+    Long getId();
+
+    Long getRoomId();
+
+    LocalDate getCheckedInDate();
+
+    LocalDate getCheckedOutDate();
+}
@@ -0,0 +1,37 @@
+package com.fadhliazhar.booking_hotel.repository.projection;
+
+import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of the booking columns shown in booking lists, including the room number and the owning user
+ */
+public interface BookingSummaryProjection {
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDate getCheckedInDate();
+
+    LocalDate getCheckedOutDate();
+
+    Integer getAdultCapacity();
+
+    Integer getChildrenCapacity();
+
+    Long getRoomId();
+
+    Integer getRoomNumber();
+
+    BookingStatus getBookingStatus();
+
+    String getUserId();
+
+    default int getNight() {
+        return Booking.nights(getCheckedInDate(), getCheckedOutDate());
+    }
+}
@@ -0,0 +1,55 @@
+package com.fadhliazhar.booking_hotel.repository.projection;
+
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Concrete booking list row for JPQL constructor expressions built outside derived repository queries
+ */
+public record BookingSummaryRow(
+        Long id,
+        String firstName,
+        String lastName,
+        LocalDate checkedInDate,
+        LocalDate checkedOutDate,
+        Integer adultCapacity,
+        Integer childrenCapacity,
+        Long roomId,
+        Integer roomNumber,
+        BookingStatus bookingStatus,
+        String userId
+) implements BookingSummaryProjection {
+    @Override
+    public Long getId() { return id; }
+
+    @Override
+    public String getFirstName() { return firstName; }
+
+    @Override
+    public String getLastName() { return lastName; }
+
+    @Override
+    public LocalDate getCheckedInDate() { return checkedInDate; }
+
+    @Override
+    public LocalDate getCheckedOutDate() { return checkedOutDate; }
+
+    @Override
+    public Integer getAdultCapacity() { return adultCapacity; }
+
+    @Override
+    public Integer getChildrenCapacity() { return childrenCapacity; }
+
+    @Override
+    public Long getRoomId() { return roomId; }
+
+    @Override
+    public Integer getRoomNumber() { return roomNumber; }
+
+    @Override
+    public BookingStatus getBookingStatus() { return bookingStatus; }
+
+    @Override
+    public String getUserId() { return userId; }
+}
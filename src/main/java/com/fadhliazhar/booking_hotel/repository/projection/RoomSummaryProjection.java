@@ -0,0 +1,23 @@
+package com.fadhliazhar.booking_hotel.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of the room columns shown in room lists
+ */
+public interface RoomSummaryProjection {
+    Long getId();
+
+    Integer getRoomNumber();
+
+    BigDecimal getRoomPrice();
+
+    Integer getAdultCapacity();
+
+    Integer getChildrenCapacity();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
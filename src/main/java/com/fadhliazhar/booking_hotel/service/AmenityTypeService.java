@@ -1,5 +1,6 @@
 package com.fadhliazhar.booking_hotel.service;
 
+import com.fadhliazhar.booking_hotel.dto.common.CatalogSnapshot;
 import com.fadhliazhar.booking_hotel.dto.amenity_type.AmenityTypeRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.amenity_type.AmenityTypeResponseDTO;
 import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
@@ -12,30 +13,34 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.AMENITY_TYPES_CACHE;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class AmenityTypeService {
     private final AmenityTypeRepository amenityTypeRepository;
+    private final CatalogCache catalogCache;
 
     public List<AmenityTypeResponseDTO> getAll() {
-        return amenityTypeRepository.findAll(Sort.by("name")).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return catalog().getEntries();
     }
 
     public List<AmenityTypeResponseDTO> getAllActive() {
-        return amenityTypeRepository.findByIsActiveTrue(Sort.by("name")).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return catalog().activeEntries();
     }
 
     public AmenityTypeResponseDTO getById(Long id) {
-        AmenityType amenityType = amenityTypeRepository.findById(id)
+        return catalog().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Amenity type with ID " + id + " not found."));
-        return toResponseDTO(amenityType);
+    }
+
+    /**
+     * The cached catalog snapshot, loaded from the database on a miss
+     */
+    public CatalogSnapshot<AmenityTypeResponseDTO> catalog() {
+        return catalogCache.get(AMENITY_TYPES_CACHE, this::loadAll);
     }
 
     public AmenityTypeResponseDTO create(AmenityTypeRequestDTO requestDTO) {
@@ -49,6 +54,7 @@ public class AmenityTypeService {
         amenityType.setIsActive(requestDTO.getIsActive());
 
         AmenityType saved = amenityTypeRepository.save(amenityType);
+        catalogCache.evict(AMENITY_TYPES_CACHE);
         log.info("Created new amenity type: {}", saved.getName());
         return toResponseDTO(saved);
     }
@@ -67,6 +73,7 @@ public class AmenityTypeService {
         amenityType.setIsActive(requestDTO.getIsActive());
 
         AmenityType saved = amenityTypeRepository.save(amenityType);
+        catalogCache.evict(AMENITY_TYPES_CACHE);
         log.info("Updated amenity type: {}", saved.getName());
         return toResponseDTO(saved);
     }
@@ -76,17 +83,24 @@ public class AmenityTypeService {
             throw new ResourceNotFoundException("Amenity type with ID " + id + " not found.");
         }
         amenityTypeRepository.deleteById(id);
+        catalogCache.evict(AMENITY_TYPES_CACHE);
         log.info("Deleted amenity type with ID: {}", id);
     }
 
+    private List<AmenityTypeResponseDTO> loadAll() {
+        return amenityTypeRepository.findAll(Sort.by("name")).stream()
+                .map(this::toResponseDTO)
+                .toList();
+    }
+
     private AmenityTypeResponseDTO toResponseDTO(AmenityType amenityType) {
-        AmenityTypeResponseDTO dto = new AmenityTypeResponseDTO();
-        dto.setId(amenityType.getId());
-        dto.setName(amenityType.getName());
-        dto.setDescription(amenityType.getDescription());
-        dto.setIsActive(amenityType.getIsActive());
-        dto.setCreatedOn(amenityType.getCreatedOn());
-        dto.setUpdatedOn(amenityType.getUpdatedOn());
-        return dto;
+        return AmenityTypeResponseDTO.builder()
+                .id(amenityType.getId())
+                .name(amenityType.getName())
+                .description(amenityType.getDescription())
+                .isActive(amenityType.getIsActive())
+                .createdOn(amenityType.getCreatedOn())
+                .updatedOn(amenityType.getUpdatedOn())
+                .build();
     }
 }
\ No newline at end of file
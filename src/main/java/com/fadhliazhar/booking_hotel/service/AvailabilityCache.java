@@ -0,0 +1,144 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityRequestDTO;
+import com.fadhliazhar.booking_hotel.util.CachedResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.AVAILABILITY_VERSIONS_CACHE;
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.AVAILABLE_ROOM_RESPONSES_CACHE;
+
+/**
+ * Serialized availability responses cached in {@code AVAILABLE_ROOM_RESPONSES_CACHE} under a date-bucketed key scheme.
+ * <p>
+ * Stay nights are grouped into weekly buckets, each with a version token kept in {@code AVAILABILITY_VERSIONS_CACHE}.
+ * An availability key embeds the tokens of every bucket its stay touches (plus a room catalog token),
+ * so a booking write invalidates only the overlapping entries by deleting its buckets' tokens:
+ * the next lookup mints a new token and the stale entries become unreachable until their TTL expires.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityCache {
+    // Stays spanning more weekly buckets than this are not cached
+    static final int MAX_CACHED_BUCKETS = 8;
+
+    private static final String ROOMS_VERSION_KEY = "rooms";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Return the serialized response of an availability lookup, loading and caching it on a miss.
+     * The key is resolved once before loading, so a booking committed while the loader runs
+     * leaves the result under an already invalidated key. Loading goes through the cache so concurrent
+     * misses for one key share a single load.
+     */
+    public CachedResponse getResponse(RoomAvailabilityRequestDTO request, Supplier<CachedResponse> loader) {
+        if (!isCacheable(request)) {
+            return loader.get();
+        }
+        String key = keyFor(request);
+        try {
+            return cache(AVAILABLE_ROOM_RESPONSES_CACHE).get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Whether an availability lookup can be cached under {@link #keyFor}
+     */
+    boolean isCacheable(RoomAvailabilityRequestDTO request) {
+        return request.getCheckInDate() != null && request.getCheckOutDate() != null
+                && request.getCheckOutDate().isAfter(request.getCheckInDate())
+                && bucketCount(request.getCheckInDate(), request.getCheckOutDate()) <= MAX_CACHED_BUCKETS;
+    }
+
+    /**
+     * Cache key for an availability lookup, including the current version of each bucket the stay touches
+     */
+    String keyFor(RoomAvailabilityRequestDTO request) {
+        Cache cache = cache(AVAILABILITY_VERSIONS_CACHE);
+        StringJoiner key = new StringJoiner(":")
+                .add(String.valueOf(request.getNumberOfAdults()))
+                .add(String.valueOf(request.getNumberOfChildren()))
+                .add(request.getCheckInDate().toString())
+                .add(request.getCheckOutDate().toString())
+                .add(version(cache, ROOMS_VERSION_KEY));
+        for (LocalDate bucket = bucketOf(request.getCheckInDate());
+             !bucket.isAfter(lastNight(request.getCheckOutDate())); bucket = bucket.plusWeeks(1)) {
+            key.add(version(cache, bucketVersionKey(bucket)));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Invalidate availability entries whose stay shares a night with [checkIn, checkOut)
+     */
+    public void evictOverlapping(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            return;
+        }
+        Cache cache = cache(AVAILABILITY_VERSIONS_CACHE);
+        for (LocalDate bucket = bucketOf(checkIn); !bucket.isAfter(lastNight(checkOut)); bucket = bucket.plusWeeks(1)) {
+            cache.evict(bucketVersionKey(bucket));
+        }
+        log.debug("Availability cache buckets evicted for {} - {}", checkIn, checkOut);
+    }
+
+    /**
+     * Invalidate every availability entry after a room catalog change
+     */
+    public void evictAllRooms() {
+        cache(AVAILABILITY_VERSIONS_CACHE).evict(ROOMS_VERSION_KEY);
+        log.debug("Availability cache room version evicted");
+    }
+
+    static LocalDate bucketOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    static long bucketCount(LocalDate checkIn, LocalDate checkOut) {
+        return ChronoUnit.WEEKS.between(bucketOf(checkIn), bucketOf(lastNight(checkOut))) + 1;
+    }
+
+    private static LocalDate lastNight(LocalDate checkOut) {
+        return checkOut.minusDays(1);
+    }
+
+    private static String bucketVersionKey(LocalDate bucket) {
+        return bucket.toString();
+    }
+
+    private String version(Cache cache, String versionKey) {
+        String version = cache.get(versionKey, String.class);
+        if (version != null) {
+            return version;
+        }
+        String fresh = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+        Cache.ValueWrapper existing = cache.putIfAbsent(versionKey, fresh);
+        return existing != null && existing.get() != null ? (String) existing.get() : fresh;
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + name + "' is not configured");
+        }
+        return cache;
+    }
+}
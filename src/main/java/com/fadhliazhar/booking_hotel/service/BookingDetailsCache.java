@@ -0,0 +1,43 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.dto.booking.CachedBooking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.BOOKING_DETAILS_CACHE;
+
+/**
+ * Booking details cached by booking id together with their owner.
+ * <p>
+ * The cache holds data only: callers check access against {@link CachedBooking#userId()} after every lookup,
+ * so a hit never skips the permission check that a load would have run.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingDetailsCache {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Return the cached booking detail, loading and caching it on a miss.
+     * Concurrent misses for one booking share a single load.
+     */
+    public CachedBooking get(Long id, Supplier<CachedBooking> loader) {
+        Cache cache = cacheManager.getCache(BOOKING_DETAILS_CACHE);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + BOOKING_DETAILS_CACHE + "' is not configured");
+        }
+        try {
+            return cache.get(id, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
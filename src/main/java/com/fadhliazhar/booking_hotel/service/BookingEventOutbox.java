@@ -0,0 +1,61 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.dto.booking.BookingEventPayload;
+import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingEventType;
+import com.fadhliazhar.booking_hotel.model.BookingOutboxEvent;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.repository.BookingOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes booking lifecycle events to the outbox inside the transaction that changes the booking, so an event
+ * exists exactly when its change commits. Publishing happens later on the {@link BookingOutboxPublisher}
+ * thread, which is nudged once the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingEventOutbox {
+    private final BookingOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<BookingOutboxPublisher> publisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(BookingEventType eventType, Booking booking) {
+        record(eventType, booking, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(BookingEventType eventType, Booking booking, BookingStatus previousStatus) {
+        // Write the booking change first: its row lock makes a concurrent change of the same booking insert
+        // its event only after this transaction commits, so event ids follow commit order per booking
+        outboxRepository.flush();
+        outboxRepository.save(new BookingOutboxEvent(booking.getId(), eventType,
+                serialize(BookingEventPayload.of(booking, previousStatus))));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publisher.ifAvailable(BookingOutboxPublisher::wakeUp);
+                }
+            });
+        }
+    }
+
+    private String serialize(BookingEventPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize booking event payload", e);
+        }
+    }
+}
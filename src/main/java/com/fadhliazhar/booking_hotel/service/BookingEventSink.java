@@ -0,0 +1,20 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.model.BookingOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of published booking events. Selected with {@code app.outbox.sink}; register another
+ * implementation under a different value to publish somewhere other than Redis Streams.
+ * <p>
+ * Delivery is at least once: a batch is redelivered whole if publishing fails or the outbox update after it
+ * does not commit, so consumers should de-duplicate on the event id.
+ */
+public interface BookingEventSink {
+
+    /**
+     * Deliver a batch of events in outbox order, throwing if any of them could not be delivered
+     */
+    void publish(List<BookingOutboxEvent> events);
+}
@@ -0,0 +1,141 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.dto.booking.BookingExportFormat;
+import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
+import com.fadhliazhar.booking_hotel.mapper.BookingMapper;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
+import com.fadhliazhar.booking_hotel.security.SecurityUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings as NDJSON or CSV straight to an output stream, one row at a time
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class BookingExportService {
+    // Rows written between explicit flushes, so clients start receiving data early
+    private static final int FLUSH_INTERVAL = 1000;
+    // Leading characters that make spreadsheets evaluate a cell as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    private static final String CSV_HEADER = "id,firstName,lastName,checkedInDate,checkedOutDate," +
+            "adultCapacity,childrenCapacity,night,roomId,roomNumber,bookingStatus";
+
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Check access and filters before the response is committed, so errors still map to proper status codes
+     */
+    public void validateExportRequest(LocalDate fromDate, LocalDate toDate) {
+        if (!SecurityUtils.hasRole("ADMIN")) {
+            throw new AccessDeniedException("Only administrators can export bookings");
+        }
+        if (fromDate != null && toDate != null && !toDate.isAfter(fromDate)) {
+            throw new BusinessValidationException("Export 'to' date must be after 'from' date");
+        }
+    }
+
+    /**
+     * Write bookings with check-in date in [fromDate, toDate) and the given status; null filters match all
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDate fromDate, LocalDate toDate, BookingStatus status,
+                       BookingExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long rows;
+
+        try (Stream<BookingSummaryProjection> bookings = bookingRepository.streamSummaries(fromDate, toDate, status)) {
+            Iterator<BookingResponseDTO> iterator = bookings.map(bookingMapper::toResponseDTO).iterator();
+            rows = switch (format) {
+                case NDJSON -> writeNdjson(iterator, writer);
+                case CSV -> writeCsv(iterator, writer);
+            };
+        }
+
+        writer.flush();
+        log.info("Exported {} bookings as {} (from={}, to={}, status={})", rows, format, fromDate, toDate, status);
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<BookingResponseDTO> bookings, Writer writer) throws IOException {
+        // Keep the response writer open between rows and leave flushing to FLUSH_INTERVAL
+        ObjectWriter lineWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withoutFeatures(JsonGenerator.Feature.AUTO_CLOSE_TARGET, JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        long rows = 0;
+        while (bookings.hasNext()) {
+            lineWriter.writeValue(writer, bookings.next());
+            writer.write('\n');
+            if (++rows % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<BookingResponseDTO> bookings, Writer writer) throws IOException {
+        long rows = 0;
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (bookings.hasNext()) {
+            BookingResponseDTO booking = bookings.next();
+            writer.write(String.join(",",
+                    csv(booking.getId()),
+                    csv(booking.getFirstName()),
+                    csv(booking.getLastName()),
+                    csv(booking.getCheckedInDate()),
+                    csv(booking.getCheckedOutDate()),
+                    csv(booking.getAdultCapacity()),
+                    csv(booking.getChildrenCapacity()),
+                    csv(booking.getNight()),
+                    csv(booking.getRoomId()),
+                    csv(booking.getRoomNumber()),
+                    csv(booking.getBookingStatus())));
+            writer.write('\n');
+            if (++rows % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        return rows;
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Guest-supplied text is written as a literal so opening the export cannot run a formula (CSV injection)
+        if (value instanceof String && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
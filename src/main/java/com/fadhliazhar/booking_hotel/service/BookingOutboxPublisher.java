@@ -0,0 +1,194 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.model.BookingOutboxEvent;
+import com.fadhliazhar.booking_hotel.repository.BookingOutboxRepository;
+import com.fadhliazhar.booking_hotel.util.ThreadUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the booking event outbox to the {@link BookingEventSink} on a single background thread.
+ * <p>
+ * Each batch is locked, published and marked published in one transaction, so a failed publish or commit
+ * leaves the batch to be sent again: delivery is at least once. Draining runs right after a booking
+ * transaction commits and on a fixed poll interval as a fallback, and continues while batches come back full.
+ * Published events are purged once older than the retention period.
+ * <p>
+ * Batches are locked without SKIP LOCKED, so publishers on other nodes wait for the current batch instead of
+ * publishing later events next to it. Events of one booking are therefore published in the order their changes
+ * committed. Ids are allocated before commit, so events of different bookings may be published out of id order.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.publisher.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingOutboxPublisher implements SmartLifecycle {
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final BookingOutboxRepository outboxRepository;
+    private final BookingEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter published;
+    private final Counter failures;
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    @Value("${app.outbox.publisher.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.publisher.poll-interval:PT5S}")
+    private Duration pollInterval;
+
+    @Value("${app.outbox.retention:P7D}")
+    private Duration retention;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    public BookingOutboxPublisher(BookingOutboxRepository outboxRepository, BookingEventSink sink,
+                                  PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.published = Counter.builder("booking.outbox.published")
+                .description("Booking events handed to the event sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("booking.outbox.failures")
+                .description("Outbox drain or purge runs that failed and will be retried")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(
+                ThreadUtil.backgroundThreads("booking-outbox-publisher", virtualThreadsEnabled));
+        running = true;
+        executor.scheduleWithFixedDelay(this::drainSafely,
+                pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::purgeSafely,
+                PURGE_INTERVAL.toMillis(), PURGE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Queue a drain on the publisher thread; calls made while one is already queued are folded into it
+     */
+    public void wakeUp() {
+        if (running && drainQueued.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    drainQueued.set(false);
+                    drainSafely();
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the event stays in the outbox for the next poll or node
+                drainQueued.set(false);
+                log.debug("Outbox publisher is stopping, drain not queued");
+            }
+        }
+    }
+
+    /**
+     * Publish unpublished events batch by batch until a batch comes back short
+     *
+     * @return the number of events published
+     */
+    public int drain() {
+        int total = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> publishBatch());
+            total += count;
+        } while (count == batchSize);
+        return total;
+    }
+
+    /**
+     * Delete events published before the retention period, a bounded batch per transaction
+     *
+     * @return the number of events deleted
+     */
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status ->
+                    outboxRepository.deletePublishedBefore(cutoff, PURGE_BATCH_SIZE));
+            total += count;
+        } while (count == PURGE_BATCH_SIZE);
+        return total;
+    }
+
+    private int publishBatch() {
+        List<BookingOutboxEvent> batch = outboxRepository.lockUnpublishedBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        sink.publish(batch);
+        outboxRepository.markPublished(batch.stream().map(BookingOutboxEvent::getId).toList(), LocalDateTime.now());
+        published.increment(batch.size());
+        return batch.size();
+    }
+
+    private void drainSafely() {
+        try {
+            int count = drain();
+            if (count > 0) {
+                log.debug("Published {} booking events", count);
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Could not publish booking events, retrying in {}: {}", pollInterval, e.getMessage());
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            int count = purge();
+            if (count > 0) {
+                log.info("Purged {} booking events published before the {} retention", count, retention);
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Could not purge published booking events: {}", e.getMessage());
+        }
+    }
+}
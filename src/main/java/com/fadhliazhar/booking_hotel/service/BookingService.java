@@ -3,50 +3,70 @@ package com.fadhliazhar.booking_hotel.service;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingStatusUpdateDTO;
+import com.fadhliazhar.booking_hotel.dto.booking.CachedBooking;
 import com.fadhliazhar.booking_hotel.dto.common.PageRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.common.PageResponseDTO;
 import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
 import com.fadhliazhar.booking_hotel.exception.ResourceNotFoundException;
 import com.fadhliazhar.booking_hotel.mapper.BookingMapper;
 import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingEventType;
 import com.fadhliazhar.booking_hotel.model.BookingStatus;
 import com.fadhliazhar.booking_hotel.model.Room;
+import com.fadhliazhar.booking_hotel.repository.BookingKeysetSort;
 import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.repository.BookingSearchCriteria;
 import com.fadhliazhar.booking_hotel.repository.RoomRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
 import com.fadhliazhar.booking_hotel.security.SecurityUtils;
+import com.fadhliazhar.booking_hotel.config.CacheConfig.CacheMonitor;
 import static com.fadhliazhar.booking_hotel.config.CacheConfig.*;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import com.fadhliazhar.booking_hotel.util.CursorUtil;
 import com.fadhliazhar.booking_hotel.util.PageUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 @Transactional
 public class BookingService {
+    // Page size of the per-user first page kept in USER_BOOKINGS_CACHE
+    public static final int MY_BOOKINGS_PAGE_SIZE = 20;
 
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final BookingMapper bookingMapper;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final AvailabilityCache availabilityCache;
+    private final CacheMonitor cacheMonitor;
+    private final BookingDetailsCache bookingDetailsCache;
+    private final BookingEventOutbox bookingEventOutbox;
 
     /**
      * Get all bookings with pagination, sorting, and search
      */
+    @Transactional(readOnly = true)
     public PageResponseDTO<BookingResponseDTO> getAll(PageRequestDTO pageRequest) {
+        if (pageRequest.isKeysetMode()) {
+            return getAllByKeyset(pageRequest);
+        }
+        
         Pageable pageable = PageUtil.createPageable(pageRequest);
         
-        Page<Booking> bookingPage = bookingRepository.findAllWithSearch(pageRequest.getSearch(), pageable);
+        Page<BookingSummaryProjection> bookingPage = bookingRepository.searchSummaries(
+                BookingSearchCriteria.parse(pageRequest.getSearch()), pageable);
         
         List<BookingResponseDTO> bookingResponses = bookingPage.getContent().stream()
                 .map(bookingMapper::toResponseDTO)
@@ -59,51 +79,143 @@ public class BookingService {
         );
     }
 
+    /**
+     * Cursor mode of getAll: seeks past the (sort key, id) position in the cursor, fetches one extra row
+     * to detect a next page and skips the count query, so every page costs the same at any depth
+     */
+    private PageResponseDTO<BookingResponseDTO> getAllByKeyset(PageRequestDTO pageRequest) {
+        validatePageSize(pageRequest.getSize());
+        BookingKeysetSort sort = BookingKeysetSort.fromProperty(pageRequest.getSort());
+        boolean ascending = !"desc".equalsIgnoreCase(pageRequest.getDirection());
+        String direction = ascending ? "asc" : "desc";
+        
+        Object afterValue = null;
+        Long afterId = null;
+        boolean first = pageRequest.getCursor() == null || pageRequest.getCursor().isBlank();
+        if (!first) {
+            // Cursor layout: sort property, direction, id, sort value (last, as it may contain the separator)
+            List<String> position = CursorUtil.decode(pageRequest.getCursor(), 4);
+            if (!position.get(0).equals(sort.getProperty()) || !position.get(1).equals(direction)) {
+                throw new BusinessValidationException("Pagination cursor does not match the requested sort");
+            }
+            try {
+                afterId = Long.valueOf(position.get(2));
+                afterValue = sort.getParser().apply(position.get(3));
+            } catch (RuntimeException e) {
+                throw new BusinessValidationException("Invalid pagination cursor");
+            }
+        }
+        
+        List<BookingSummaryProjection> rows = bookingRepository.findSummariesAfter(
+                BookingSearchCriteria.parse(pageRequest.getSearch()), sort, ascending, afterValue, afterId,
+                pageRequest.getSize() + 1);
+        boolean hasNext = rows.size() > pageRequest.getSize();
+        List<BookingSummaryProjection> page = hasNext ? rows.subList(0, pageRequest.getSize()) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            BookingSummaryProjection last = page.get(page.size() - 1);
+            nextCursor = CursorUtil.encode(sort.getProperty(), direction, last.getId(), keysetValue(sort, last));
+        }
+        
+        List<BookingResponseDTO> content = page.stream()
+                .map(bookingMapper::toResponseDTO)
+                .toList();
+        
+        return PageResponseDTO.ofSlice(content, pageRequest.getSize(), first, hasNext, nextCursor,
+                sort.getProperty(), direction);
+    }
+    
+    private Object keysetValue(BookingKeysetSort sort, BookingSummaryProjection row) {
+        return switch (sort) {
+            case ID -> row.getId();
+            case FIRST_NAME -> row.getFirstName();
+            case LAST_NAME -> row.getLastName();
+            case CHECKED_IN_DATE -> row.getCheckedInDate();
+            case CHECKED_OUT_DATE -> row.getCheckedOutDate();
+        };
+    }
+
+    /**
+     * Bookings of one user, newest first, in keyset pages. The first page of the default size is cached per user
+     * and evicted by that user's booking writes.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = USER_BOOKINGS_CACHE, key = "#userId",
+               condition = "(#cursor == null || #cursor.isBlank()) && #size == " + MY_BOOKINGS_PAGE_SIZE)
+    public PageResponseDTO<BookingResponseDTO> getByUserId(String userId, String cursor, int size) {
+        validatePageSize(size);
+        boolean first = cursor == null || cursor.isBlank();
+        long beforeId = Long.MAX_VALUE;
+        if (!first) {
+            // Cursor layout: sort property, direction, id
+            List<String> position = CursorUtil.decode(cursor, 3);
+            if (!position.get(0).equals("id") || !position.get(1).equals("desc")) {
+                throw new BusinessValidationException("Pagination cursor does not match the requested sort");
+            }
+            try {
+                beforeId = Long.parseLong(position.get(2));
+            } catch (NumberFormatException e) {
+                throw new BusinessValidationException("Invalid pagination cursor");
+            }
+        }
+
+        List<BookingSummaryProjection> rows = bookingRepository.findSummariesByUserIdBefore(
+                userId, beforeId, PageRequest.of(0, size + 1));
+        boolean hasNext = rows.size() > size;
+        List<BookingSummaryProjection> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? CursorUtil.encode("id", "desc", page.get(page.size() - 1).getId()) : null;
+
+        List<BookingResponseDTO> content = page.stream()
+                .map(bookingMapper::toResponseDTO)
+                .toList();
+
+        return PageResponseDTO.ofSlice(content, size, first, hasNext, nextCursor, "id", "desc");
+    }
+
     /**
      * Get all bookings (legacy method for backward compatibility)
      */
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getAll() {
         log.warn("Using deprecated getAll() method without pagination");
-        List<Booking> bookings = bookingRepository.findAll();
+        List<BookingSummaryProjection> bookings = bookingRepository.findAllSummaries();
         return bookings.stream()
                 .map(bookingMapper::toResponseDTO)
                 .toList();
     }
 
     /**
-     * Get booking by ID
+     * Get booking by ID. The detail comes from the booking details cache and the owner check runs on every call,
+     * cache hit or not. Runs without a transaction, so a hit never checks out a database connection; a miss
+     * reads the booking with its room in one read-only repository query.
      */
-@Cacheable(value = BOOKING_DETAILS_CACHE, key = "#id")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingResponseDTO getById(Long id) {
-        Booking booking = findBookingById(id);
+        CachedBooking cached = bookingDetailsCache.get(id, () -> {
+            Booking booking = bookingRepository.findWithRoomById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking with ID " + id + " not found"));
+            return new CachedBooking(booking.getUserId(), bookingMapper.toResponseDTO(booking));
+        });
         
         // Check if user has permission to view this booking
-        if (SecurityUtils.isAuthenticated()) {
-            String currentUserId = SecurityUtils.getCurrentUserId().orElse(null);
-            if (currentUserId != null && !currentUserId.equals(booking.getUserId()) 
-                && !SecurityUtils.hasRole("ADMIN")) {
-                throw new BusinessValidationException("Access denied: You can only view your own bookings");
-            }
-        }
+        checkOwnerAccess(cached.userId(), "view");
         
-        return bookingMapper.toResponseDTO(booking);
+        return cached.booking();
     }
 
     /**
      * Create new booking
      */
-@Caching(evict = {
-        @CacheEvict(value = BOOKING_DETAILS_CACHE, allEntries = true),
-        @CacheEvict(value = USER_BOOKINGS_CACHE, allEntries = true),
-        @CacheEvict(value = AVAILABLE_ROOMS_CACHE, allEntries = true)
-    })
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public BookingResponseDTO create(BookingRequestDTO requestDTO) {
         validateBookingRequest(requestDTO);
         
-        Room room = findRoomById(requestDTO.getRoomId());
+        // Lock the room row so concurrent reservations of this room wait for each other
+        Room room = lockRoomById(requestDTO.getRoomId());
         
         // Check room availability
-        if (!isRoomAvailable(room, requestDTO.getCheckedInDate(), requestDTO.getCheckedOutDate())) {
+        if (!isRoomAvailable(room.getId(), requestDTO.getCheckedInDate(), requestDTO.getCheckedOutDate())) {
             throw new BusinessValidationException("Room is not available for the selected dates");
         }
 
@@ -118,6 +230,9 @@ public class BookingService {
         booking.calculateTotalAmount();
         
         Booking savedBooking = bookingRepository.save(booking);
+        roomAvailabilityIndex.onBookingSaved(savedBooking);
+        evictBookingCaches(savedBooking);
+        bookingEventOutbox.record(BookingEventType.BOOKING_CREATED, savedBooking);
         log.info("Created new booking with ID: {} for user: {}", savedBooking.getId(), savedBooking.getUserId());
         
         return bookingMapper.toResponseDTO(savedBooking);
@@ -126,27 +241,33 @@ public class BookingService {
     /**
      * Update existing booking
      */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public BookingResponseDTO update(Long id, BookingRequestDTO requestDTO) {
         Booking existingBooking = findBookingById(id);
         
         // Check if user has permission to update this booking
-        if (SecurityUtils.isAuthenticated()) {
-            String currentUserId = SecurityUtils.getCurrentUserId().orElse(null);
-            if (currentUserId != null && !currentUserId.equals(existingBooking.getUserId()) 
-                && !SecurityUtils.hasRole("ADMIN")) {
-                throw new BusinessValidationException("Access denied: You can only update your own bookings");
-            }
-        }
+        checkOwnerAccess(existingBooking.getUserId(), "update");
         
         validateBookingRequest(requestDTO);
         
-        // Check if room is changing
-        if (!existingBooking.getRoomId().equals(requestDTO.getRoomId())) {
-            Room newRoom = findRoomById(requestDTO.getRoomId());
-            if (!isRoomAvailable(newRoom, requestDTO.getCheckedInDate(), requestDTO.getCheckedOutDate())) {
-                throw new BusinessValidationException("New room is not available for the selected dates");
-            }
-            existingBooking.setRoom(newRoom);
+        // Lock the target room row so concurrent reservations of this room wait for each other
+        Room targetRoom = lockRoomById(requestDTO.getRoomId());
+        boolean roomChanged = !existingBooking.getRoomId().equals(requestDTO.getRoomId());
+        boolean datesChanged = !existingBooking.getCheckedInDate().equals(requestDTO.getCheckedInDate())
+                || !existingBooking.getCheckedOutDate().equals(requestDTO.getCheckedOutDate());
+        
+        // Re-check availability when the stay moves, ignoring this booking's own dates
+        if ((roomChanged || datesChanged) && bookingRepository.existsOverlappingBookingExcluding(
+                targetRoom.getId(), requestDTO.getCheckedInDate(), requestDTO.getCheckedOutDate(), id)) {
+            throw new BusinessValidationException(roomChanged
+                    ? "New room is not available for the selected dates"
+                    : "Room is not available for the selected dates");
+        }
+        if (roomChanged || datesChanged) {
+            availabilityCache.evictOverlapping(existingBooking.getCheckedInDate(), existingBooking.getCheckedOutDate());
+        }
+        if (roomChanged) {
+            existingBooking.setRoom(targetRoom);
         }
         
         // Update booking details
@@ -160,6 +281,9 @@ public class BookingService {
         existingBooking.calculateTotalAmount();
         
         Booking updatedBooking = bookingRepository.save(existingBooking);
+        roomAvailabilityIndex.onBookingSaved(updatedBooking);
+        evictBookingCaches(updatedBooking);
+        bookingEventOutbox.record(BookingEventType.BOOKING_UPDATED, updatedBooking);
         log.info("Updated booking with ID: {}", updatedBooking.getId());
         
         return bookingMapper.toResponseDTO(updatedBooking);
@@ -172,10 +296,14 @@ public class BookingService {
         Booking booking = findBookingById(bookingId);
         
         // Validate status transition
-        validateStatusTransition(booking.getBookingStatus(), statusUpdateDto.getBookingStatus());
+        BookingStatus previousStatus = booking.getBookingStatus();
+        validateStatusTransition(previousStatus, statusUpdateDto.getBookingStatus());
         
         booking.setBookingStatus(statusUpdateDto.getBookingStatus());
         Booking updatedBooking = bookingRepository.save(booking);
+        roomAvailabilityIndex.onBookingSaved(updatedBooking);
+        evictBookingCaches(updatedBooking);
+        bookingEventOutbox.record(BookingEventType.BOOKING_STATUS_CHANGED, updatedBooking, previousStatus);
         
         log.info("Updated booking status to {} for booking ID: {}", 
                 statusUpdateDto.getBookingStatus(), bookingId);
@@ -190,13 +318,7 @@ public class BookingService {
         Booking booking = findBookingById(id);
         
         // Check if user has permission to delete this booking
-        if (SecurityUtils.isAuthenticated()) {
-            String currentUserId = SecurityUtils.getCurrentUserId().orElse(null);
-            if (currentUserId != null && !currentUserId.equals(booking.getUserId()) 
-                && !SecurityUtils.hasRole("ADMIN")) {
-                throw new BusinessValidationException("Access denied: You can only delete your own bookings");
-            }
-        }
+        checkOwnerAccess(booking.getUserId(), "delete");
         
         // Only allow deletion if booking is not checked in
         if (booking.getBookingStatus() == BookingStatus.CHECKED_IN) {
@@ -204,18 +326,55 @@ public class BookingService {
         }
         
         bookingRepository.deleteById(id);
+        roomAvailabilityIndex.onBookingDeleted(id);
+        evictBookingCaches(booking);
+        bookingEventOutbox.record(BookingEventType.BOOKING_DELETED, booking);
         log.info("Deleted booking with ID: {}", id);
     }
 
     // Helper methods
     
+    /**
+     * Bound the page size of cursor listings, which are built from request parameters rather than a validated DTO
+     */
+    private void validatePageSize(int size) {
+        if (size < 1 || size > 100) {
+            throw new BusinessValidationException("Page size must be between 1 and 100");
+        }
+    }
+
     private Booking findBookingById(Long id) {
         return bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking with ID " + id + " not found"));
     }
     
-    private Room findRoomById(Long id) {
-        return roomRepository.findById(id)
+    /**
+     * Allow the booking owner and admins; anonymous calls are left to the web security rules
+     */
+    private void checkOwnerAccess(String ownerId, String action) {
+        if (SecurityUtils.isAuthenticated()) {
+            String currentUserId = SecurityUtils.getCurrentUserId().orElse(null);
+            if (currentUserId != null && !currentUserId.equals(ownerId)
+                && !SecurityUtils.hasRole("ADMIN")) {
+                throw new BusinessValidationException("Access denied: You can only " + action + " your own bookings");
+            }
+        }
+    }
+    
+    /**
+     * Evict only the cache entries a booking write can affect: the booking itself, its owner's
+     * bookings and the availability entries overlapping its stay. Evictions run after commit.
+     */
+    private void evictBookingCaches(Booking booking) {
+        cacheMonitor.evictCacheEntry(BOOKING_DETAILS_CACHE, booking.getId());
+        if (booking.getUserId() != null) {
+            cacheMonitor.evictCacheEntry(USER_BOOKINGS_CACHE, booking.getUserId());
+        }
+        availabilityCache.evictOverlapping(booking.getCheckedInDate(), booking.getCheckedOutDate());
+    }
+    
+    private Room lockRoomById(Long id) {
+        return roomRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Room with ID " + id + " not found"));
     }
     
@@ -236,18 +395,8 @@ public class BookingService {
         }
     }
     
-    private boolean isRoomAvailable(Room room, LocalDate checkInDate, LocalDate checkOutDate) {
-        LocalDate checkIn = checkInDate;
-        LocalDate checkOut = checkOutDate;
-        
-        Optional<Room> availableRoom = roomRepository.findOneAvailableRoom(
-            room.getAdultCapacity(),
-            room.getChildrenCapacity(),
-            checkIn,
-            checkOut
-        );
-        
-        return availableRoom.isPresent() && availableRoom.get().getId().equals(room.getId());
+    private boolean isRoomAvailable(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        return !bookingRepository.existsOverlappingBooking(roomId, checkInDate, checkOutDate);
     }
     
     private void validateStatusTransition(BookingStatus currentStatus, BookingStatus newStatus) {
@@ -0,0 +1,163 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.config.CacheConfig.CacheWarmer;
+import com.fadhliazhar.booking_hotel.dto.booking.CachedBooking;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.mapper.BookingMapper;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
+import com.fadhliazhar.booking_hotel.util.ThreadUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.*;
+
+/**
+ * Pre-loads hot data into the caches when a node starts: the amenity and service type catalogs, all rooms
+ * and upcoming or current bookings, written in parallel batches.
+ * <p>
+ * Spring Boot switches readiness to ACCEPTING_TRAFFIC only after the ApplicationReadyEvent listeners
+ * return, so the node is kept out of rotation until warm-up completes or the timeout passes. Anything
+ * still running after the timeout finishes in the background.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheWarmUpService {
+    private final CacheWarmer cacheWarmer;
+    private final AmenityTypeService amenityTypeService;
+    private final ServiceTypeService serviceTypeService;
+    private final RoomService roomService;
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.warmup.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.cache.warmup.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.cache.warmup.timeout:PT2M}")
+    private Duration timeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Cache warm-up is disabled");
+            return;
+        }
+        warmUp();
+    }
+
+    /**
+     * Warm every cache and wait for completion up to the configured timeout.
+     * Returns whether warm-up finished in time without errors.
+     */
+    public boolean warmUp() {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        // The pool size bounds concurrent database reads and Redis writes, with virtual threads as well
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                ThreadUtil.backgroundThreads("cache-warmup", virtualThreadsEnabled));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "completed";
+        log.info("Starting cache warm-up");
+
+        try {
+            List<CompletableFuture<?>> batches = new ArrayList<>();
+            // Catalogs are single snapshots, loaded through the cache unless another node already built them
+            batches.add(CompletableFuture.runAsync(amenityTypeService::catalog, executor));
+            batches.add(CompletableFuture.runAsync(serviceTypeService::catalog, executor));
+            // Loading through the service also caches the sorted room list
+            batches.add(warmAsync(executor, ROOMS_CACHE, roomService::getAll, RoomResponseDTO::getId));
+
+            // Booking pages are read here in id order while earlier pages are written by the pool
+            LocalDate today = LocalDate.now();
+            long afterId = 0;
+            List<BookingSummaryProjection> page;
+            do {
+                page = bookingRepository.findActiveSummariesEndingAfter(today, afterId, PageRequest.of(0, batchSize));
+                if (!page.isEmpty()) {
+                    List<BookingSummaryProjection> rows = page;
+                    afterId = rows.get(rows.size() - 1).getId();
+                    batches.add(warmAsync(executor, BOOKING_DETAILS_CACHE,
+                            () -> rows.stream()
+                                    .map(row -> new CachedBooking(row.getUserId(), bookingMapper.toResponseDTO(row)))
+                                    .toList(),
+                            cached -> cached.booking().getId()));
+                }
+            } while (page.size() == batchSize && System.nanoTime() < deadline);
+
+            if (page.size() == batchSize) {
+                throw new TimeoutException("bookings were still being read");
+            }
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            log.info("Cache warm-up completed");
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+            log.warn("Cache warm-up did not finish within {}, accepting traffic with partially warm caches", timeout);
+        } catch (ExecutionException e) {
+            outcome = "failed";
+            log.warn("Cache warm-up failed, caches will fill on demand: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        } catch (RuntimeException e) {
+            outcome = "failed";
+            log.warn("Cache warm-up failed, caches will fill on demand: {}", e.getMessage());
+        } finally {
+            executor.shutdown();
+            sample.stop(Timer.builder("cache.warmup.duration")
+                    .description("Time taken to warm the caches at startup")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+        return "completed".equals(outcome);
+    }
+
+    private <T> CompletableFuture<Void> warmAsync(ExecutorService executor, String cacheName,
+                                                  Supplier<List<T>> loader, Function<T, Long> idOf) {
+        return CompletableFuture.runAsync(() -> {
+            Map<Long, T> entries = new LinkedHashMap<>();
+            for (T value : loader.get()) {
+                entries.put(idOf.apply(value), value);
+            }
+            int added = cacheWarmer.warmUpCache(cacheName, entries);
+            Counter.builder("cache.warmup.entries")
+                    .description("Entries written to the caches by startup warm-up")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry)
+                    .increment(added);
+        }, executor);
+    }
+}
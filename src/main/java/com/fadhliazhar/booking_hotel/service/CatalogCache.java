@@ -0,0 +1,61 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.dto.common.CatalogEntry;
+import com.fadhliazhar.booking_hotel.dto.common.CatalogSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Catalogs held as a single {@link CatalogSnapshot} per cache under {@link #SNAPSHOT_KEY}.
+ * <p>
+ * Reads are served from the node's L1 copy of the snapshot. A write evicts the whole snapshot, so readers see
+ * either the old or the new catalog; the next read rebuilds it from the database in a single load, and the
+ * two-level cache manager's invalidation message makes every other node drop its copy too. Evicting rather than
+ * putting a rebuilt snapshot means two concurrent writers can never leave the older of their snapshots cached.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCache {
+    public static final String SNAPSHOT_KEY = "snapshot";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Return the catalog snapshot of a cache, building it from the loader on a miss.
+     * Concurrent misses share a single load.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends CatalogEntry> CatalogSnapshot<T> get(String cacheName, Supplier<List<T>> loader) {
+        try {
+            return cache(cacheName).get(SNAPSHOT_KEY, () -> new CatalogSnapshot<>(loader.get()));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop the catalog snapshot of a cache after a write; the next read rebuilds it
+     */
+    public void evict(String cacheName) {
+        cache(cacheName).evict(SNAPSHOT_KEY);
+        log.debug("Catalog snapshot evicted - Cache: {}", cacheName);
+    }
+
+    private Cache cache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + cacheName + "' is not configured");
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,55 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.model.BookingOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends booking events to a Redis Stream, one entry per event with the outbox id as {@code eventId}.
+ * A batch goes out as one pipelined round trip, and the stream is trimmed to about
+ * {@code app.outbox.redis-stream.max-length} entries as it grows.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "redis-stream", matchIfMissing = true)
+public class RedisStreamBookingEventSink implements BookingEventSink {
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.outbox.redis-stream.key:booking-hotel:booking-events}")
+    private String streamKey;
+
+    @Value("${app.outbox.redis-stream.max-length:100000}")
+    private long maxLength;
+
+    @Override
+    public void publish(List<BookingOutboxEvent> events) {
+        XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+        // Failed commands surface as an exception when the pipeline closes, failing the whole batch
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (BookingOutboxEvent event : events) {
+                stringConnection.xAdd(StreamRecords.string(fields(event)).withStreamKey(streamKey), options);
+            }
+            return null;
+        });
+    }
+
+    private Map<String, String> fields(BookingOutboxEvent event) {
+        return Map.of(
+                "eventId", String.valueOf(event.getId()),
+                "type", event.getEventType().name(),
+                "bookingId", String.valueOf(event.getBookingId()),
+                "occurredAt", String.valueOf(event.getCreatedAt()),
+                "payload", event.getPayload());
+    }
+}
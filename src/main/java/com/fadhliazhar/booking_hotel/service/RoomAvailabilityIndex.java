@@ -0,0 +1,541 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilitySearchRequestDTO;
+import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.model.Room;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.repository.RoomRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingStayChangeProjection;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingStayProjection;
+import com.fadhliazhar.booking_hotel.util.ThreadUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory room availability index.
+ * Keeps every room together with its occupied (BOOKED / CHECKED_IN) date ranges so availability
+ * searches can be answered without scanning the bookings table. The index is loaded once the
+ * application is ready and kept in sync by the booking and room write paths after their
+ * transactions commit. Writes made on other nodes are picked up every
+ * {@code app.availability-index.refresh-interval} by reading only the bookings and rooms whose
+ * {@code updated_at} is newer than the previous sync, less {@code app.availability-index.sync-overlap}
+ * to cover transactions still in flight and clock differences between nodes. Hard deletes leave no
+ * such trace, so the whole index is reloaded every {@code app.availability-index.full-rebuild-interval},
+ * which also drops stays that have ended. Callers must confirm a candidate against the database
+ * before handing it out.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Comparator<RoomEntry> PRICE_ORDER = Comparator
+            .comparing(RoomEntry::getRoomPrice)
+            .thenComparing(RoomEntry::getId);
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+
+    @Value("${app.availability-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.availability-index.refresh-interval:PT1M}")
+    private Duration refreshInterval;
+
+    @Value("${app.availability-index.sync-overlap:PT2M}")
+    private Duration syncOverlap;
+
+    @Value("${app.availability-index.full-rebuild-interval:PT6H}")
+    private Duration fullRebuildInterval;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    // Replaced as a whole by rebuild(), so readers see either the previous or the reloaded index, never a partial one
+    private volatile Map<Long, RoomEntry> rooms = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> roomIdByBookingId = new ConcurrentHashMap<>();
+    private volatile List<RoomEntry> roomsByPrice = List.of();
+    private volatile boolean loaded;
+    // Start of the last full load or sync; every write committed before it is in the index
+    private volatile LocalDateTime syncedAt;
+    private volatile long lastRebuildNanos;
+    private ScheduledExecutorService refresher;
+
+    // Serializes index writes. A lock rather than a monitor, since rebuild() reads the database while holding it
+    // and a monitor would pin a virtual thread to its carrier for that whole time
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Room availability index is disabled, searches will use the database");
+            return;
+        }
+        rebuild();
+        log.info("Room availability index loaded {} rooms and {} active stays, syncing every {} and reloading every {}",
+                rooms.size(), roomIdByBookingId.size(), refreshInterval, fullRebuildInterval);
+
+        refresher = Executors.newSingleThreadScheduledExecutor(
+                ThreadUtil.backgroundThreads("room-availability-index-refresh", virtualThreadsEnabled));
+        refresher.scheduleWithFixedDelay(this::refresh,
+                refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Reload all rooms and active stays from the database into new maps and swap them in
+     */
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            load();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        LocalDateTime loadStart = LocalDateTime.now();
+
+        Map<Long, RoomEntry> loadedRooms = new ConcurrentHashMap<>();
+        for (Room room : roomRepository.findAll()) {
+            if (isSearchable(room)) {
+                loadedRooms.put(room.getId(), RoomEntry.of(room));
+            }
+        }
+
+        Map<Long, Long> loadedBookings = new ConcurrentHashMap<>();
+        List<BookingStayProjection> stays = bookingRepository.findActiveStaysEndingAfter(LocalDate.now().minusDays(1));
+        for (BookingStayProjection stay : stays) {
+            RoomEntry entry = loadedRooms.get(stay.getRoomId());
+            if (entry != null) {
+                entry.getCalendar().put(stay.getId(), stay.getCheckedInDate(), stay.getCheckedOutDate());
+                loadedBookings.put(stay.getId(), stay.getRoomId());
+            }
+        }
+
+        rooms = loadedRooms;
+        roomIdByBookingId = loadedBookings;
+        reorderRooms();
+        syncedAt = loadStart;
+        lastRebuildNanos = System.nanoTime();
+        loaded = true;
+
+        log.debug("Room availability index loaded {} rooms and {} active stays in {} ms",
+                loadedRooms.size(), loadedBookings.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Apply the bookings and rooms written since the previous sync, including those written on other nodes
+     */
+    public void syncChanges() {
+        if (!loaded) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            applyChanges();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void applyChanges() {
+        LocalDateTime syncStart = LocalDateTime.now();
+        LocalDateTime since = syncedAt.minus(syncOverlap);
+        LocalDate fromDate = LocalDate.now().minusDays(1);
+
+        List<Room> changedRooms = roomRepository.findByUpdatedAtAfter(since);
+        for (Room room : changedRooms) {
+            RoomEntry existing = rooms.get(room.getId());
+            if (!isSearchable(room)) {
+                if (existing != null) {
+                    rooms.remove(room.getId());
+                    roomIdByBookingId.values().removeIf(room.getId()::equals);
+                }
+                continue;
+            }
+            RoomEntry updated = RoomEntry.of(room);
+            if (existing != null) {
+                updated.getCalendar().copyFrom(existing.getCalendar());
+            } else {
+                // New to this index: its older stays carry no recent updated_at
+                List<BookingStayProjection> stays = bookingRepository
+                        .findActiveStaysByRoomEndingAfter(room.getId(), fromDate);
+                for (BookingStayProjection stay : stays) {
+                    updated.getCalendar().put(stay.getId(), stay.getCheckedInDate(), stay.getCheckedOutDate());
+                    roomIdByBookingId.put(stay.getId(), room.getId());
+                }
+            }
+            rooms.put(room.getId(), updated);
+        }
+        if (!changedRooms.isEmpty()) {
+            reorderRooms();
+        }
+
+        List<BookingStayChangeProjection> changedStays = bookingRepository.findStaysUpdatedAfter(since);
+        for (BookingStayChangeProjection stay : changedStays) {
+            removeStay(stay.getId());
+            RoomEntry entry = rooms.get(stay.getRoomId());
+            boolean blocking = stay.getBookingStatus() == BookingStatus.BOOKED
+                    || stay.getBookingStatus() == BookingStatus.CHECKED_IN;
+            if (blocking && entry != null && stay.getCheckedOutDate().isAfter(fromDate)) {
+                entry.getCalendar().put(stay.getId(), stay.getCheckedInDate(), stay.getCheckedOutDate());
+                roomIdByBookingId.put(stay.getId(), stay.getRoomId());
+            }
+        }
+
+        syncedAt = syncStart;
+        log.debug("Room availability index applied {} changed rooms and {} changed bookings since {}",
+                changedRooms.size(), changedStays.size(), since);
+    }
+
+    // Periodic sync that picks up bookings and rooms written on other nodes, with a full reload once
+    // fullRebuildInterval has passed; a failure keeps the current index and the next run retries from the same point
+    private void refresh() {
+        try {
+            if (System.nanoTime() - lastRebuildNanos >= fullRebuildInterval.toNanos()) {
+                rebuild();
+            } else {
+                syncChanges();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Room availability index refresh failed, retrying in {}: {}", refreshInterval, e.getMessage());
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Ids of rooms that fit the guests and have no overlapping stay, cheapest first
+     */
+    public List<Long> findAvailableRoomIds(int numberOfAdults, int numberOfChildren,
+                                           LocalDate checkInDate, LocalDate checkOutDate) {
+        RoomAvailabilitySearchRequestDTO criteria = new RoomAvailabilitySearchRequestDTO();
+        criteria.setNumberOfAdults(numberOfAdults);
+        criteria.setNumberOfChildren(numberOfChildren);
+        criteria.setCheckInDate(checkInDate);
+        criteria.setCheckOutDate(checkOutDate);
+        return findAvailableRoomIds(criteria, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ids of available rooms matching the search filters ordered by (price, id), starting strictly
+     * after the given keyset position when one is supplied
+     */
+    public List<Long> findAvailableRoomIds(RoomAvailabilitySearchRequestDTO criteria,
+                                           BigDecimal afterPrice, Long afterId, int limit) {
+        List<RoomEntry> ordered = roomsByPrice;
+        List<Long> result = new ArrayList<>();
+        for (int i = firstIndexAfter(ordered, afterPrice, afterId); i < ordered.size() && result.size() < limit; i++) {
+            RoomEntry entry = ordered.get(i);
+            if (entry.matches(criteria)
+                    && !entry.getCalendar().overlaps(criteria.getCheckInDate(), criteria.getCheckOutDate())) {
+                result.add(entry.getId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check a single room against the index, unknown rooms are reported as unavailable
+     */
+    public boolean isAvailable(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        RoomEntry entry = rooms.get(roomId);
+        return entry != null && !entry.getCalendar().overlaps(checkInDate, checkOutDate);
+    }
+
+    /**
+     * Reload the stays of a single room, used when the database disagrees with the index
+     */
+    public void refreshRoom(Long roomId) {
+        if (!rooms.containsKey(roomId)) {
+            return;
+        }
+        List<BookingStayProjection> stays = bookingRepository
+                .findActiveStaysByRoomEndingAfter(roomId, LocalDate.now().minusDays(1));
+        locked(() -> {
+            RoomEntry entry = rooms.get(roomId);
+            if (entry == null) {
+                return;
+            }
+            roomIdByBookingId.values().removeIf(roomId::equals);
+            entry.getCalendar().clear();
+            for (BookingStayProjection stay : stays) {
+                entry.getCalendar().put(stay.getId(), stay.getCheckedInDate(), stay.getCheckedOutDate());
+                roomIdByBookingId.put(stay.getId(), roomId);
+            }
+        });
+        log.debug("Room availability index refreshed room {} with {} active stays", roomId, stays.size());
+    }
+
+    /**
+     * Record a room insert or update once the current transaction commits
+     */
+    public void onRoomSaved(Room room) {
+        if (!loaded) {
+            return;
+        }
+        if (!isSearchable(room)) {
+            onRoomDeleted(room.getId());
+            return;
+        }
+        RoomEntry updated = RoomEntry.of(room);
+        afterCommit(() -> locked(() -> {
+            RoomEntry existing = rooms.get(updated.getId());
+            if (existing != null) {
+                updated.getCalendar().copyFrom(existing.getCalendar());
+            }
+            rooms.put(updated.getId(), updated);
+            reorderRooms();
+        }));
+    }
+
+    /**
+     * Drop a room once the current transaction commits
+     */
+    public void onRoomDeleted(Long roomId) {
+        if (!loaded) {
+            return;
+        }
+        afterCommit(() -> locked(() -> {
+            rooms.remove(roomId);
+            roomIdByBookingId.values().removeIf(roomId::equals);
+            reorderRooms();
+        }));
+    }
+
+    /**
+     * Record a booking insert, update or status change once the current transaction commits.
+     * Bookings that no longer block the room (cancelled, checked out) are removed.
+     */
+    public void onBookingSaved(Booking booking) {
+        if (!loaded) {
+            return;
+        }
+        Long bookingId = booking.getId();
+        Long roomId = booking.getRoomId();
+        LocalDate checkIn = booking.getCheckedInDate();
+        LocalDate checkOut = booking.getCheckedOutDate();
+        boolean blocking = booking.getBookingStatus() == BookingStatus.BOOKED
+                || booking.getBookingStatus() == BookingStatus.CHECKED_IN;
+
+        afterCommit(() -> locked(() -> {
+            removeStay(bookingId);
+            RoomEntry entry = rooms.get(roomId);
+            if (blocking && entry != null) {
+                entry.getCalendar().put(bookingId, checkIn, checkOut);
+                roomIdByBookingId.put(bookingId, roomId);
+            }
+        }));
+    }
+
+    /**
+     * Drop a booking once the current transaction commits
+     */
+    public void onBookingDeleted(Long bookingId) {
+        if (!loaded) {
+            return;
+        }
+        afterCommit(() -> locked(() -> removeStay(bookingId)));
+    }
+
+    private void removeStay(Long bookingId) {
+        Long previousRoomId = roomIdByBookingId.remove(bookingId);
+        if (previousRoomId != null) {
+            RoomEntry previous = rooms.get(previousRoomId);
+            if (previous != null) {
+                previous.getCalendar().remove(bookingId);
+            }
+        }
+    }
+
+    // Rooms without a price have no place in the (price, id) order, and the database search skips them as well
+    private static boolean isSearchable(Room room) {
+        return room.getRoomPrice() != null;
+    }
+
+    private static int firstIndexAfter(List<RoomEntry> ordered, BigDecimal afterPrice, Long afterId) {
+        if (afterPrice == null || afterId == null) {
+            return 0;
+        }
+        RoomEntry probe = new RoomEntry(afterId, afterPrice, 0, 0, null, null);
+        int position = Collections.binarySearch(ordered, probe, PRICE_ORDER);
+        return position >= 0 ? position + 1 : -(position + 1);
+    }
+
+    private void reorderRooms() {
+        List<RoomEntry> ordered = new ArrayList<>(rooms.values());
+        ordered.sort(PRICE_ORDER);
+        roomsByPrice = List.copyOf(ordered);
+    }
+
+    private void locked(Runnable action) {
+        writeLock.lock();
+        try {
+            action.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Immutable room attributes plus the mutable calendar of its stays
+     */
+    @Getter
+    private static final class RoomEntry {
+        private final Long id;
+        private final BigDecimal roomPrice;
+        private final int adultCapacity;
+        private final int childrenCapacity;
+        private final String roomType;
+        private final Integer floorNumber;
+        private final RoomCalendar calendar = new RoomCalendar();
+
+        private RoomEntry(Long id, BigDecimal roomPrice, int adultCapacity, int childrenCapacity,
+                          String roomType, Integer floorNumber) {
+            this.id = id;
+            this.roomPrice = roomPrice;
+            this.adultCapacity = adultCapacity;
+            this.childrenCapacity = childrenCapacity;
+            this.roomType = roomType;
+            this.floorNumber = floorNumber;
+        }
+
+        static RoomEntry of(Room room) {
+            return new RoomEntry(
+                    room.getId(),
+                    room.getRoomPrice(),
+                    room.getAdultCapacity() != null ? room.getAdultCapacity() : 0,
+                    room.getChildrenCapacity() != null ? room.getChildrenCapacity() : 0,
+                    room.getRoomType(),
+                    room.getFloorNumber()
+            );
+        }
+
+        // Same capacity and filter rules as RoomRepository.searchAvailableRooms, whose room type match follows
+        // the case-insensitive column collation
+        boolean matches(RoomAvailabilitySearchRequestDTO criteria) {
+            int numberOfAdults = criteria.getNumberOfAdults();
+            int numberOfChildren = criteria.getNumberOfChildren();
+            return adultCapacity >= numberOfAdults
+                    && adultCapacity + childrenCapacity >= numberOfAdults + numberOfChildren
+                    && (criteria.getMinPrice() == null || roomPrice.compareTo(criteria.getMinPrice()) >= 0)
+                    && (criteria.getMaxPrice() == null || roomPrice.compareTo(criteria.getMaxPrice()) <= 0)
+                    && (criteria.getRoomType() == null || criteria.getRoomType().equalsIgnoreCase(roomType))
+                    && (criteria.getFloorNumber() == null || criteria.getFloorNumber().equals(floorNumber));
+        }
+    }
+
+    /**
+     * Stays of one room ordered by check-in date.
+     * A stay [in, out) overlaps the query [from, to) when in < to and out > from. Because no stay is
+     * longer than {@code longestStay} nights, only stays starting after {@code from - longestStay}
+     * need to be inspected, which keeps lookups at O(log n + k).
+     * Its monitors guard in-memory work only, so holding them never blocks on I/O.
+     */
+    private static final class RoomCalendar {
+        private final NavigableMap<LocalDate, Map<Long, LocalDate>> staysByCheckIn = new TreeMap<>();
+        private final Map<Long, LocalDate> checkInByBookingId = new HashMap<>();
+        private long longestStay;
+
+        synchronized void put(Long bookingId, LocalDate checkIn, LocalDate checkOut) {
+            remove(bookingId);
+            staysByCheckIn.computeIfAbsent(checkIn, date -> new HashMap<>()).put(bookingId, checkOut);
+            checkInByBookingId.put(bookingId, checkIn);
+            longestStay = Math.max(longestStay, ChronoUnit.DAYS.between(checkIn, checkOut));
+        }
+
+        synchronized void remove(Long bookingId) {
+            LocalDate checkIn = checkInByBookingId.remove(bookingId);
+            if (checkIn == null) {
+                return;
+            }
+            Map<Long, LocalDate> stays = staysByCheckIn.get(checkIn);
+            stays.remove(bookingId);
+            if (stays.isEmpty()) {
+                staysByCheckIn.remove(checkIn);
+            }
+        }
+
+        synchronized boolean overlaps(LocalDate from, LocalDate to) {
+            if (staysByCheckIn.isEmpty()) {
+                return false;
+            }
+            LocalDate earliestCheckIn = from.minusDays(longestStay);
+            for (Map<Long, LocalDate> stays : staysByCheckIn.subMap(earliestCheckIn, true, to, false).values()) {
+                for (LocalDate checkOut : stays.values()) {
+                    if (checkOut.isAfter(from)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        synchronized void clear() {
+            staysByCheckIn.clear();
+            checkInByBookingId.clear();
+            longestStay = 0;
+        }
+
+        synchronized void copyFrom(RoomCalendar other) {
+            synchronized (other) {
+                other.staysByCheckIn.forEach((checkIn, stays) ->
+                        staysByCheckIn.put(checkIn, new HashMap<>(stays)));
+                checkInByBookingId.putAll(other.checkInByBookingId);
+                longestStay = other.longestStay;
+            }
+        }
+    }
+}
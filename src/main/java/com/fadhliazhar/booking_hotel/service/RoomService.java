@@ -1,45 +1,82 @@
 package com.fadhliazhar.booking_hotel.service;
 
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityPageResponseDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilitySearchRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
 import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
 import com.fadhliazhar.booking_hotel.exception.ResourceNotFoundException;
 import com.fadhliazhar.booking_hotel.mapper.RoomMapper;
 import com.fadhliazhar.booking_hotel.model.Room;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
 import com.fadhliazhar.booking_hotel.repository.RoomAmenityRepository;
 import com.fadhliazhar.booking_hotel.repository.RoomRepository;
-import jakarta.transaction.Transactional;
+import com.fadhliazhar.booking_hotel.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import static com.fadhliazhar.booking_hotel.config.CacheConfig.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @RequiredArgsConstructor
 @Service
 public class RoomService {
+    // How many times index candidates rejected by the database are refreshed before falling back to SQL
+    private static final int INDEX_VERIFY_ATTEMPTS = 3;
+
     private final RoomRepository roomRepository;
     private final RoomAmenityRepository roomAmenityRepository;
+    private final BookingRepository bookingRepository;
     private final RoomMapper roomMapper;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final AvailabilityCache availabilityCache;
 
+    @Cacheable(value = ROOM_LIST_CACHE, key = "'all'")
+    @Transactional(readOnly = true)
     public List<RoomResponseDTO> getAll() {
-        return roomMapper.toResponseDTOs(roomRepository.findAll(Sort.by("roomNumber")));
+        return roomMapper.toSummaryResponseDTOs(roomRepository.findAllSummaries(Sort.by("roomNumber")));
     }
 
-@Cacheable(value = ROOMS_CACHE, key = "'all'")
+    @Cacheable(value = ROOMS_CACHE, key = "#roomId")
     public RoomResponseDTO getById(Long roomId) {
         return roomMapper.toResponseDTO(roomRepository.findById(roomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Room with ID " + roomId + " not found."))
         );
     }
 
+    /**
+     * Find the cheapest room matching the request. Not cached here: the controller caches the serialized response.
+     */
     public RoomAvailabilityResponseDTO getAvailableRoom(RoomAvailabilityRequestDTO roomAvailabilityRequestDTO) {
+        if (roomAvailabilityIndex.isLoaded()) {
+            RoomAvailabilitySearchRequestDTO criteria = new RoomAvailabilitySearchRequestDTO();
+            criteria.setNumberOfAdults(roomAvailabilityRequestDTO.getNumberOfAdults());
+            criteria.setNumberOfChildren(roomAvailabilityRequestDTO.getNumberOfChildren());
+            criteria.setCheckInDate(roomAvailabilityRequestDTO.getCheckInDate());
+            criteria.setCheckOutDate(roomAvailabilityRequestDTO.getCheckOutDate());
+
+            return findAvailableRooms(criteria, null, null, 1).stream()
+                    .findFirst()
+                    .map(roomMapper::toRoomAvailabilityResponseDTO)
+                    .orElseThrow(() -> new ResourceNotFoundException("No available room found for the specified criteria"));
+        }
+
         Optional<Room> availableRoom = roomRepository.findOneAvailableRoom(
                 roomAvailabilityRequestDTO.getNumberOfAdults(),
                 roomAvailabilityRequestDTO.getNumberOfChildren(),
@@ -51,6 +88,52 @@ public class RoomService {
                 .orElseThrow(() -> new ResourceNotFoundException("No available room found for the specified criteria"));
     }
 
+    /**
+     * Search available rooms ranked by price, paged with a (price, id) keyset cursor
+     */
+    public RoomAvailabilityPageResponseDTO searchAvailableRooms(RoomAvailabilitySearchRequestDTO request) {
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new BusinessValidationException("Check-out date must be after check-in date");
+        }
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new BusinessValidationException("Minimum price cannot be greater than maximum price");
+        }
+
+        BigDecimal afterPrice = null;
+        Long afterId = null;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            List<String> position = CursorUtil.decode(request.getCursor(), 2);
+            try {
+                afterPrice = new BigDecimal(position.get(0));
+                afterId = Long.valueOf(position.get(1));
+            } catch (NumberFormatException e) {
+                throw new BusinessValidationException("Invalid pagination cursor");
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<Room> rooms = findAvailableRooms(request, afterPrice, afterId, request.getSize() + 1);
+        boolean hasNext = rooms.size() > request.getSize();
+        List<Room> page = hasNext ? rooms.subList(0, request.getSize()) : rooms;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Room last = page.get(page.size() - 1);
+            nextCursor = CursorUtil.encode(last.getRoomPrice().toPlainString(), last.getId());
+        }
+
+        List<RoomAvailabilityResponseDTO> content = page.stream()
+                .map(roomMapper::toRoomAvailabilityResponseDTO)
+                .toList();
+
+        return new RoomAvailabilityPageResponseDTO(content, request.getSize(), hasNext, nextCursor);
+    }
+
+    @Caching(
+            put = @CachePut(value = ROOMS_CACHE, key = "#result.id"),
+            evict = @CacheEvict(value = ROOM_LIST_CACHE, key = "'all'")
+    )
     public RoomResponseDTO create(RoomRequestDTO requestedRoom) {
         boolean roomExists = roomRepository.existsByRoomNumber(requestedRoom.getRoomNumber());
         if (roomExists) {
@@ -59,10 +142,16 @@ public class RoomService {
 
         Room roomEntity = roomMapper.toEntity(requestedRoom);
         Room savedRoom = roomRepository.save(roomEntity);
+        roomAvailabilityIndex.onRoomSaved(savedRoom);
+        availabilityCache.evictAllRooms();
 
         return roomMapper.toResponseDTO(savedRoom);
     }
 
+    @Caching(
+            put = @CachePut(value = ROOMS_CACHE, key = "#roomId"),
+            evict = @CacheEvict(value = ROOM_LIST_CACHE, key = "'all'")
+    )
     public RoomResponseDTO update(Long roomId, RoomRequestDTO requestedRoom) {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Room with ID " + roomId + " not found."));
@@ -73,10 +162,16 @@ public class RoomService {
         room.setChildrenCapacity(requestedRoom.getChildrenCapacity());
 
         Room savedRoom = roomRepository.save(room);
+        roomAvailabilityIndex.onRoomSaved(savedRoom);
+        availabilityCache.evictAllRooms();
 
         return roomMapper.toResponseDTO(savedRoom);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = ROOMS_CACHE, key = "#roomId"),
+            @CacheEvict(value = ROOM_LIST_CACHE, key = "'all'")
+    })
     @Transactional
     public void deleteById(Long roomId) {
         boolean roomExists = roomRepository.existsById(roomId);
@@ -90,5 +185,51 @@ public class RoomService {
         }
 
         roomRepository.deleteById(roomId);
+        roomAvailabilityIndex.onRoomDeleted(roomId);
+        availabilityCache.evictAllRooms();
+    }
+
+    /**
+     * Available rooms ordered by (price, id). Candidates come from the in-memory index and are confirmed
+     * with one batched overlap query, since bookings written on other nodes are not reflected in this
+     * node's index. Rooms the database rejects are refreshed in the index and the page is recomputed.
+     */
+    private List<Room> findAvailableRooms(RoomAvailabilitySearchRequestDTO criteria,
+                                          BigDecimal afterPrice, Long afterId, int limit) {
+        if (roomAvailabilityIndex.isLoaded()) {
+            for (int attempt = 0; attempt < INDEX_VERIFY_ATTEMPTS; attempt++) {
+                List<Long> candidateIds = roomAvailabilityIndex.findAvailableRoomIds(criteria, afterPrice, afterId, limit);
+                if (candidateIds.isEmpty()) {
+                    return List.of();
+                }
+
+                Set<Long> conflicting = new HashSet<>(bookingRepository.findRoomIdsWithOverlappingBooking(
+                        candidateIds, criteria.getCheckInDate(), criteria.getCheckOutDate()));
+                if (conflicting.isEmpty()) {
+                    Map<Long, Room> roomsById = roomRepository.findAllById(candidateIds).stream()
+                            .collect(Collectors.toMap(Room::getId, Function.identity()));
+                    return candidateIds.stream()
+                            .filter(roomsById::containsKey)
+                            .map(roomsById::get)
+                            .toList();
+                }
+
+                conflicting.forEach(roomAvailabilityIndex::refreshRoom);
+            }
+        }
+
+        return roomRepository.searchAvailableRooms(
+                criteria.getNumberOfAdults(),
+                criteria.getNumberOfChildren(),
+                criteria.getCheckInDate(),
+                criteria.getCheckOutDate(),
+                criteria.getMinPrice(),
+                criteria.getMaxPrice(),
+                criteria.getRoomType(),
+                criteria.getFloorNumber(),
+                afterPrice,
+                afterId,
+                limit
+        );
     }
 }
@@ -1,5 +1,6 @@
 package com.fadhliazhar.booking_hotel.service;
 
+import com.fadhliazhar.booking_hotel.dto.common.CatalogSnapshot;
 import com.fadhliazhar.booking_hotel.dto.service_type.ServiceTypeRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.service_type.ServiceTypeResponseDTO;
 import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
@@ -12,30 +13,34 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.SERVICE_TYPES_CACHE;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class ServiceTypeService {
     private final ServiceTypeRepository serviceTypeRepository;
+    private final CatalogCache catalogCache;
 
     public List<ServiceTypeResponseDTO> getAll() {
-        return serviceTypeRepository.findAll(Sort.by("name")).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return catalog().getEntries();
     }
 
     public List<ServiceTypeResponseDTO> getAllActive() {
-        return serviceTypeRepository.findByIsActiveTrue(Sort.by("name")).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return catalog().activeEntries();
     }
 
     public ServiceTypeResponseDTO getById(Long id) {
-        ServiceType serviceType = serviceTypeRepository.findById(id)
+        return catalog().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Service type with ID " + id + " not found."));
-        return toResponseDTO(serviceType);
+    }
+
+    /**
+     * The cached catalog snapshot, loaded from the database on a miss
+     */
+    public CatalogSnapshot<ServiceTypeResponseDTO> catalog() {
+        return catalogCache.get(SERVICE_TYPES_CACHE, this::loadAll);
     }
 
     public ServiceTypeResponseDTO create(ServiceTypeRequestDTO requestDTO) {
@@ -50,6 +55,7 @@ public class ServiceTypeService {
         serviceType.setIsActive(requestDTO.getIsActive());
 
         ServiceType saved = serviceTypeRepository.save(serviceType);
+        catalogCache.evict(SERVICE_TYPES_CACHE);
         log.info("Created new service type: {}", saved.getName());
         return toResponseDTO(saved);
     }
@@ -69,6 +75,7 @@ public class ServiceTypeService {
         serviceType.setIsActive(requestDTO.getIsActive());
 
         ServiceType saved = serviceTypeRepository.save(serviceType);
+        catalogCache.evict(SERVICE_TYPES_CACHE);
         log.info("Updated service type: {}", saved.getName());
         return toResponseDTO(saved);
     }
@@ -78,18 +85,25 @@ public class ServiceTypeService {
             throw new ResourceNotFoundException("Service type with ID " + id + " not found.");
         }
         serviceTypeRepository.deleteById(id);
+        catalogCache.evict(SERVICE_TYPES_CACHE);
         log.info("Deleted service type with ID: {}", id);
     }
 
+    private List<ServiceTypeResponseDTO> loadAll() {
+        return serviceTypeRepository.findAll(Sort.by("name")).stream()
+                .map(this::toResponseDTO)
+                .toList();
+    }
+
     private ServiceTypeResponseDTO toResponseDTO(ServiceType serviceType) {
-        ServiceTypeResponseDTO dto = new ServiceTypeResponseDTO();
-        dto.setId(serviceType.getId());
-        dto.setName(serviceType.getName());
-        dto.setDescription(serviceType.getDescription());
-        dto.setDefaultPrice(serviceType.getDefaultPrice());
-        dto.setIsActive(serviceType.getIsActive());
-        dto.setCreatedOn(serviceType.getCreatedOn());
-        dto.setUpdatedOn(serviceType.getUpdatedOn());
-        return dto;
+        return ServiceTypeResponseDTO.builder()
+                .id(serviceType.getId())
+                .name(serviceType.getName())
+                .description(serviceType.getDescription())
+                .defaultPrice(serviceType.getDefaultPrice())
+                .isActive(serviceType.getIsActive())
+                .createdOn(serviceType.getCreatedOn())
+                .updatedOn(serviceType.getUpdatedOn())
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.fadhliazhar.booking_hotel.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response data serialized once to UTF-8 JSON, with a strong ETag derived from its bytes.
+ * <p>
+ * Only the {@code data} of the {@link ApiResponse} is kept: the envelope carries a per-request timestamp,
+ * so it is written fresh around {@link #rawData()} and never feeds the ETag.
+ */
+public record CachedResponse(String etag, byte[] data) {
+
+    public static CachedResponse of(ObjectMapper objectMapper, Object data) {
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(data);
+            return new CachedResponse("\"" + DigestUtils.md5DigestAsHex(bytes) + "\"", bytes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response data", e);
+        }
+    }
+
+    /**
+     * The serialized data, written as-is when used as the {@code data} of an {@link ApiResponse}
+     */
+    public RawValue rawData() {
+        return new RawValue(new String(data, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether an If-None-Match header value names this response
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.fadhliazhar.booking_hotel.util;
+
+import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe cursor strings
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(Object... parts) {
+        String raw = String.join(SEPARATOR, Arrays.stream(parts).map(String::valueOf).toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<String> decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The last part may itself contain the separator, so free-text values belong at the end
+            List<String> parts = List.of(raw.split("\\" + SEPARATOR, expectedParts));
+            if (parts.size() != expectedParts) {
+                throw new BusinessValidationException("Invalid pagination cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessValidationException("Invalid pagination cursor");
+        }
+    }
+}
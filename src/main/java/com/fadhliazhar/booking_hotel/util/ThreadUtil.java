@@ -0,0 +1,29 @@
+package com.fadhliazhar.booking_hotel.util;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the executors the application runs its own background work on
+ */
+public class ThreadUtil {
+
+    /**
+     * Threads named {@code name-N}: virtual threads when {@code spring.threads.virtual.enabled} is set and the
+     * runtime is Java 21 or later, daemon platform threads otherwise
+     */
+    public static ThreadFactory backgroundThreads(String name, boolean virtualThreadsEnabled) {
+        if (virtualThreadsEnabled && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            return new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
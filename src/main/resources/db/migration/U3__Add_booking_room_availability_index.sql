@@ -0,0 +1,2 @@
+-- Revert V3: drop the per-room availability index
+DROP INDEX idx_bookings_room_status_dates ON bookings;
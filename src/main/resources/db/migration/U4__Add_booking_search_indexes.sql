@@ -0,0 +1,3 @@
+-- Revert V4: drop the booking search indexes
+DROP INDEX idx_bookings_status_checked_out ON bookings;
+DROP INDEX ft_bookings_guest_name ON bookings;
@@ -0,0 +1,6 @@
+-- Revert V5: drop the hot path indexes
+DROP INDEX idx_rooms_price_id ON rooms;
+DROP INDEX idx_bookings_checked_in_date ON bookings;
+DROP INDEX idx_bookings_last_name ON bookings;
+DROP INDEX idx_bookings_first_name ON bookings;
+DROP INDEX idx_bookings_user_id ON bookings;
@@ -0,0 +1,2 @@
+-- Revert V6: drop the booking event outbox
+DROP TABLE booking_outbox;
@@ -0,0 +1,2 @@
+-- Revert V7: drop the check-out date index
+DROP INDEX idx_bookings_checked_out_date ON bookings;
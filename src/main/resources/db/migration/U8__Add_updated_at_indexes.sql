@@ -0,0 +1,3 @@
+-- Revert V8: drop the updated_at indexes
+DROP INDEX idx_rooms_updated_at ON rooms;
+DROP INDEX idx_bookings_updated_at ON bookings;
@@ -0,0 +1,3 @@
+-- Composite index for per-room overlap checks (existsOverlappingBooking)
+CREATE INDEX idx_bookings_room_status_dates
+    ON bookings (room_id, booking_status, checked_in_date, checked_out_date);
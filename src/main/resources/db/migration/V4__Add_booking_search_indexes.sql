@@ -0,0 +1,6 @@
+-- Full-text index for guest name search; the ngram parser keeps substring-style matching
+ALTER TABLE bookings
+    ADD FULLTEXT INDEX ft_bookings_guest_name (first_name, last_name) WITH PARSER ngram;
+
+-- Exact status search; the check-out date also serves active stay lookups (availability index rebuild, cache warm-up)
+CREATE INDEX idx_bookings_status_checked_out ON bookings (booking_status, checked_out_date);
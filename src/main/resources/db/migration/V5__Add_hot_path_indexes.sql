@@ -0,0 +1,10 @@
+-- Per-user booking listing, paged by id
+CREATE INDEX idx_bookings_user_id ON bookings (user_id, id);
+
+-- Keyset pagination sorted by guest name or check-in date; InnoDB appends the primary key as the tie-breaker
+CREATE INDEX idx_bookings_first_name ON bookings (first_name);
+CREATE INDEX idx_bookings_last_name ON bookings (last_name);
+CREATE INDEX idx_bookings_checked_in_date ON bookings (checked_in_date);
+
+-- Cheapest-first availability lookups and their (price, id) keyset pages stop after the first matches
+CREATE INDEX idx_rooms_price_id ON rooms (room_price, id);
@@ -0,0 +1,12 @@
+-- Transactional outbox of booking lifecycle events, written with the booking change and drained by the publisher
+CREATE TABLE booking_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6) NULL
+);
+
+-- Unpublished events in id order for the publisher, published ones by age for the purge
+CREATE INDEX idx_booking_outbox_published_at ON booking_outbox (published_at, id);
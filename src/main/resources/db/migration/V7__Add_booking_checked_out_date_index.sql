@@ -0,0 +1,2 @@
+-- Keyset pagination sorted by check-out date; InnoDB appends the primary key as the tie-breaker
+CREATE INDEX idx_bookings_checked_out_date ON bookings (checked_out_date);
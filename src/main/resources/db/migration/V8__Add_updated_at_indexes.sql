@@ -0,0 +1,3 @@
+-- The availability index polls for bookings and rooms written since its last sync
+CREATE INDEX idx_bookings_updated_at ON bookings (updated_at);
+CREATE INDEX idx_rooms_updated_at ON rooms (updated_at);
@@ -0,0 +1,73 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for switching L1 caching off when cache invalidations may have been missed
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheInvalidationSubscriber Tests")
+class CacheInvalidationSubscriberTest {
+
+    private static final String CHANNEL = "test:cache-invalidation";
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private TwoLevelCacheManager cacheManager;
+    private CacheInvalidationSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager(CacheConfig.ROOMS_CACHE);
+        cacheManager = new TwoLevelCacheManager(remoteCacheManager, 100, Duration.ofMinutes(1), redisTemplate, CHANNEL);
+        cacheManager.afterPropertiesSet();
+        subscriber = new CacheInvalidationSubscriber(connectionFactory, cacheManager);
+    }
+
+    @Test
+    @DisplayName("Should drop L1 when the channel is subscribed again after a reconnect")
+    void shouldDropLocalCacheOnResubscription() {
+        cacheManager.setLocalCachingEnabled(true);
+        Cache cache = cacheManager.getCache(CacheConfig.ROOMS_CACHE);
+        cache.put(1L, "room-1");
+        remoteCacheManager.getCache(CacheConfig.ROOMS_CACHE).put(1L, "room-1-updated");
+
+        subscriber.onChannelSubscribed(CHANNEL.getBytes(StandardCharsets.UTF_8), 1);
+
+        assertThat(cacheManager.isLocalCachingEnabled()).isFalse();
+        assertThat(cache.get(1L, String.class)).isEqualTo("room-1-updated");
+    }
+
+    @Test
+    @DisplayName("Should keep L1 off for messages that are not this node's heartbeat")
+    void shouldIgnoreForeignMessages() {
+        subscriber.onMessage(message("heartbeat|other-node"), null);
+        subscriber.onMessage(message("other-node|rooms|E|1"), null);
+
+        assertThat(cacheManager.isLocalCachingEnabled()).isFalse();
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,117 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import com.fadhliazhar.booking_hotel.config.CacheConfig.CacheWarmer;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the pipelined warm-up writes of Redis-backed caches
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheWarmer Tests")
+class CacheWarmerTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private CompactRedisSerializer<RoomResponseDTO> serializer;
+    private CacheWarmer cacheWarmer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new CompactRedisSerializer<>(CompactRedisSerializer.smileMapper(), RoomResponseDTO.class, 1024);
+        RedisCacheConfiguration roomsConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(30))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
+                .computePrefixWith(cacheName -> "booking-hotel:" + cacheName + ":smile:");
+        cacheWarmer = new CacheWarmer(cacheManager, connectionFactory,
+                Map.of(CacheConfig.ROOMS_CACHE, roomsConfiguration));
+    }
+
+    @Test
+    @DisplayName("Should write a batch as one pipeline of SET NX in the cache's key and value format")
+    void shouldPipelineBatchWrites() {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.closePipeline()).thenReturn(List.of(true, false));
+        Map<Long, RoomResponseDTO> entries = new LinkedHashMap<>();
+        entries.put(1L, room(101));
+        entries.put(2L, room(102));
+
+        int added = cacheWarmer.warmUpCache(CacheConfig.ROOMS_CACHE, entries);
+
+        assertThat(added).isEqualTo(1);
+        ArgumentCaptor<byte[]> keys = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> values = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<Expiration> expirations = ArgumentCaptor.forClass(Expiration.class);
+        InOrder inOrder = inOrder(connection, stringCommands);
+        inOrder.verify(connection).openPipeline();
+        inOrder.verify(stringCommands, times(2)).set(keys.capture(), values.capture(), expirations.capture(),
+                eq(RedisStringCommands.SetOption.ifAbsent()));
+        inOrder.verify(connection).closePipeline();
+        verify(connection).close();
+        assertThat(keys.getAllValues()).map(key -> new String(key, StandardCharsets.UTF_8))
+                .containsExactly("booking-hotel:rooms:smile:1", "booking-hotel:rooms:smile:2");
+        assertThat(values.getAllValues()).map(serializer::deserialize)
+                .extracting(RoomResponseDTO::getRoomNumber)
+                .containsExactly(101, 102);
+        assertThat(expirations.getAllValues()).extracting(Expiration::getExpirationTimeInMilliseconds)
+                .containsOnly(Duration.ofMinutes(30).toMillis());
+        // Neither the per-entry cache writes nor their invalidation messages
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    @DisplayName("Should fall back to per-entry putIfAbsent for caches without a Redis configuration")
+    void shouldPutEachEntryOfOtherCaches() {
+        org.springframework.cache.Cache cache = mock(org.springframework.cache.Cache.class);
+        when(cacheManager.getCache(CacheConfig.ROOM_LIST_CACHE)).thenReturn(cache);
+        when(cache.putIfAbsent(any(), any())).thenReturn(null);
+
+        int added = cacheWarmer.warmUpCache(CacheConfig.ROOM_LIST_CACHE, Map.of(1L, room(101)));
+
+        assertThat(added).isEqualTo(1);
+        verifyNoInteractions(connectionFactory);
+    }
+
+    private RoomResponseDTO room(int roomNumber) {
+        RoomResponseDTO room = new RoomResponseDTO();
+        room.setRoomNumber(roomNumber);
+        return room;
+    }
+}
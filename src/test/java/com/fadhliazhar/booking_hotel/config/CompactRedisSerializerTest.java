@@ -0,0 +1,152 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import com.fadhliazhar.booking_hotel.dto.amenity_type.AmenityTypeResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.booking.CachedBooking;
+import com.fadhliazhar.booking_hotel.dto.common.CatalogSnapshot;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the compact typed Redis value serializer
+ */
+@DisplayName("CompactRedisSerializer Tests")
+class CompactRedisSerializerTest {
+
+    @Test
+    @DisplayName("Should round-trip a DTO in Smile without embedding class names")
+    void shouldRoundTripSmile() {
+        CompactRedisSerializer<BookingResponseDTO> serializer =
+                new CompactRedisSerializer<>(CompactRedisSerializer.smileMapper(), BookingResponseDTO.class, 1024);
+        BookingResponseDTO booking = booking();
+
+        byte[] bytes = serializer.serialize(booking);
+
+        assertThat(serializer.deserialize(bytes)).isEqualTo(booking);
+        assertThat(new String(bytes)).doesNotContain("BookingResponseDTO");
+        assertThat(bytes.length).isLessThan(legacyTypedJsonSize(booking));
+    }
+
+    @Test
+    @DisplayName("Should round-trip a cached booking detail with its owner")
+    void shouldRoundTripCachedBooking() {
+        CompactRedisSerializer<CachedBooking> serializer =
+                new CompactRedisSerializer<>(CompactRedisSerializer.smileMapper(), CachedBooking.class, 1024);
+        CachedBooking cached = new CachedBooking("user123", booking());
+
+        assertThat(serializer.deserialize(serializer.serialize(cached))).isEqualTo(cached);
+    }
+
+    @Test
+    @DisplayName("Should compress large values and read both framings")
+    void shouldCompressAboveThreshold() {
+        ObjectMapper mapper = CompactRedisSerializer.smileMapper();
+        CompactRedisSerializer<List<RoomResponseDTO>> compressing = new CompactRedisSerializer<>(mapper,
+                mapper.getTypeFactory().constructCollectionType(List.class, RoomResponseDTO.class), 256);
+        CompactRedisSerializer<List<RoomResponseDTO>> plain = new CompactRedisSerializer<>(mapper,
+                mapper.getTypeFactory().constructCollectionType(List.class, RoomResponseDTO.class), 0);
+        List<RoomResponseDTO> rooms = IntStream.rangeClosed(1, 50).mapToObj(this::room).toList();
+
+        byte[] compressed = compressing.serialize(rooms);
+        byte[] uncompressed = plain.serialize(rooms);
+
+        assertThat(compressed[0]).isEqualTo((byte) 1);
+        assertThat(uncompressed[0]).isEqualTo((byte) 0);
+        assertThat(compressed.length).isLessThan(uncompressed.length);
+        assertThat(plain.deserialize(compressed)).isEqualTo(rooms);
+        assertThat(compressing.deserialize(uncompressed)).isEqualTo(rooms);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a catalog snapshot and rebuild its indexes")
+    void shouldRoundTripCatalogSnapshot() {
+        ObjectMapper mapper = CompactRedisSerializer.smileMapper();
+        CompactRedisSerializer<CatalogSnapshot<AmenityTypeResponseDTO>> serializer = new CompactRedisSerializer<>(mapper,
+                mapper.getTypeFactory().constructParametricType(CatalogSnapshot.class, AmenityTypeResponseDTO.class), 0);
+        CatalogSnapshot<AmenityTypeResponseDTO> snapshot =
+                new CatalogSnapshot<>(List.of(amenityType(2L, "Wifi", true), amenityType(1L, "Balcony", false)));
+
+        CatalogSnapshot<AmenityTypeResponseDTO> read = serializer.deserialize(serializer.serialize(snapshot));
+
+        assertThat(read.getEntries()).isEqualTo(snapshot.getEntries());
+        assertThat(read.activeEntries()).extracting(AmenityTypeResponseDTO::getId).containsExactly(2L);
+        assertThat(read.findById(1L)).map(AmenityTypeResponseDTO::getName).contains("Balcony");
+    }
+
+    @Test
+    @DisplayName("Should treat empty values as absent and reject unknown framing")
+    void shouldHandleEmptyAndUnknownValues() {
+        CompactRedisSerializer<BookingResponseDTO> serializer =
+                new CompactRedisSerializer<>(CompactRedisSerializer.jsonMapper(), BookingResponseDTO.class, 0);
+
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+        assertThatThrownBy(() -> serializer.deserialize("{\"id\":1}".getBytes()))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    // Size with the default-typed JSON serializer the booking details cache used before
+    private int legacyTypedJsonSize(BookingResponseDTO booking) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        return new Jackson2JsonRedisSerializer<>(objectMapper, BookingResponseDTO.class).serialize(booking).length;
+    }
+
+    private BookingResponseDTO booking() {
+        BookingResponseDTO booking = new BookingResponseDTO();
+        booking.setId(1L);
+        booking.setFirstName("John");
+        booking.setLastName("Doe");
+        booking.setCheckedInDate(LocalDate.of(2030, 1, 7));
+        booking.setCheckedOutDate(LocalDate.of(2030, 1, 9));
+        booking.setAdultCapacity(2);
+        booking.setChildrenCapacity(0);
+        booking.setNight(2);
+        booking.setRoomId(5L);
+        booking.setRoomNumber(101);
+        booking.setBookingStatus(BookingStatus.BOOKED);
+        return booking;
+    }
+
+    private AmenityTypeResponseDTO amenityType(Long id, String name, boolean active) {
+        return AmenityTypeResponseDTO.builder()
+                .id(id)
+                .name(name)
+                .isActive(active)
+                .createdOn(LocalDateTime.of(2030, 1, 1, 12, 0))
+                .build();
+    }
+
+    private RoomResponseDTO room(int id) {
+        RoomResponseDTO room = new RoomResponseDTO();
+        room.setId((long) id);
+        room.setRoomNumber(100 + id);
+        room.setRoomPrice(new BigDecimal("150.00"));
+        room.setAdultCapacity(2);
+        room.setChildrenCapacity(1);
+        room.setCreatedOn(LocalDateTime.of(2030, 1, 1, 12, 0));
+        room.setUpdatedOn(LocalDateTime.of(2030, 1, 1, 12, 0));
+        return room;
+    }
+}
@@ -0,0 +1,81 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import com.fadhliazhar.booking_hotel.config.CacheConfig.CacheMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the cache metrics decorator and the statistics CacheMonitor reads from it
+ */
+@DisplayName("MeteredCache Tests")
+class MeteredCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new MeteredCacheManager(
+                new ConcurrentMapCacheManager(CacheConfig.ROOMS_CACHE), meterRegistry, "cacheManager");
+    }
+
+    @Test
+    @DisplayName("Should count hits, misses, puts and evictions per cache")
+    void shouldCountCacheOperations() {
+        Cache cache = cacheManager.getCache(CacheConfig.ROOMS_CACHE);
+
+        cache.get(1L);
+        cache.put(1L, "room-1");
+        cache.get(1L, String.class);
+        cache.evict(1L);
+
+        assertThat(count("cache.gets", "result", "hit")).isEqualTo(1.0);
+        assertThat(count("cache.gets", "result", "miss")).isEqualTo(1.0);
+        assertThat(count("cache.puts")).isEqualTo(1.0);
+        assertThat(count("cache.evictions")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should time loads and count loader calls as misses")
+    void shouldRecordLoads() {
+        Cache cache = cacheManager.getCache(CacheConfig.ROOMS_CACHE);
+
+        cache.get(2L, () -> "room-2");
+        cache.get(2L, () -> "room-2-reloaded");
+
+        assertThat(meterRegistry.get("cache.load.duration").tag("result", "success").timer().count()).isEqualTo(1);
+        assertThat(count("cache.gets", "result", "miss")).isEqualTo(1.0);
+        assertThat(count("cache.gets", "result", "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should report hit ratio through CacheMonitor")
+    void shouldReportStatsThroughCacheMonitor() {
+        Cache cache = cacheManager.getCache(CacheConfig.ROOMS_CACHE);
+        cache.put(1L, "room-1");
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(2L);
+
+        Map<String, Object> stats = new CacheMonitor(cacheManager, meterRegistry).getCacheStats();
+
+        assertThat(stats.get(CacheConfig.ROOMS_CACHE)).asInstanceOf(MAP)
+                .containsEntry("hits", 2L)
+                .containsEntry("misses", 1L)
+                .containsEntry("puts", 1L)
+                .hasEntrySatisfying("hitRatio", ratio -> assertThat((double) ratio).isCloseTo(2 / 3.0, within(0.001)));
+    }
+
+    private double count(String name, String... tags) {
+        return meterRegistry.get(name).tag("cache", CacheConfig.ROOMS_CACHE).tags(tags).counter().count();
+    }
+}
@@ -0,0 +1,65 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Redis round-trip and value size metrics of the cache writer
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MeteredRedisCacheWriter Tests")
+class MeteredRedisCacheWriterTest {
+
+    private static final byte[] KEY = "booking-hotel:rooms:smile:1".getBytes();
+
+    @Mock
+    private RedisCacheWriter delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredRedisCacheWriter cacheWriter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheWriter = new MeteredRedisCacheWriter(delegate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should time each command and record value sizes by operation")
+    void shouldRecordRoundTripsAndSizes() {
+        when(delegate.get(eq("rooms"), eq(KEY), any(Duration.class))).thenReturn(new byte[40]);
+
+        cacheWriter.put("rooms", KEY, new byte[100], Duration.ofMinutes(30));
+        cacheWriter.get("rooms", KEY, Duration.ofMinutes(30));
+        cacheWriter.get("rooms", "missing".getBytes(), Duration.ofMinutes(30));
+
+        assertThat(meterRegistry.get("cache.redis.duration").tags("cache", "rooms", "operation", "put").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.redis.duration").tags("cache", "rooms", "operation", "get").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("cache.value.size").tags("cache", "rooms", "operation", "write").summary().totalAmount())
+                .isEqualTo(100);
+        assertThat(meterRegistry.get("cache.value.size").tags("cache", "rooms", "operation", "read").summary().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the metrics decorator when statistics collection is enabled")
+    void shouldStayMeteredWithStatisticsCollector() {
+        when(delegate.withStatisticsCollector(any())).thenReturn(delegate);
+
+        assertThat(cacheWriter.withStatisticsCollector(null)).isInstanceOf(MeteredRedisCacheWriter.class);
+    }
+}
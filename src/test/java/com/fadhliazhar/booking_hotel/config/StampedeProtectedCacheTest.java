@@ -0,0 +1,203 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for single-flight loading and XFetch early refresh
+ */
+@DisplayName("StampedeProtectedCache Tests")
+class StampedeProtectedCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final long LOAD_NANOS = Duration.ofSeconds(2).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private ConcurrentMapCache delegate;
+    private StampedeProtectedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("bookingDetails");
+        // ln(0.5) * 2s * beta 1.0: refresh starts roughly 1.4s before expiry
+        cache = new StampedeProtectedCache(delegate, TTL, 1.0, clock::get, () -> 0.5);
+    }
+
+    @Test
+    @DisplayName("Should run one loader per key while concurrent callers wait for it")
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            releaseLoader.await();
+            return "booking-1";
+        })));
+        loaderStarted.await(5, TimeUnit.SECONDS);
+        for (int i = 1; i < threads; i++) {
+            results.add(executor.submit(() -> cache.get(1L, () -> "booking-" + (1 + loads.incrementAndGet()))));
+        }
+        Thread.sleep(100);
+        releaseLoader.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("booking-1");
+        }
+        executor.shutdown();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should refresh a hit early only when close to expiry")
+    void shouldRefreshEarlyNearExpiry() {
+        cache.get(1L, () -> {
+            clock.addAndGet(LOAD_NANOS);
+            return "v1";
+        });
+        long expiresAt = LOAD_NANOS + TTL.toNanos();
+
+        clock.set(expiresAt - Duration.ofSeconds(30).toNanos());
+        assertThat(cache.get(1L, () -> "v2")).isEqualTo("v1");
+
+        clock.set(expiresAt - Duration.ofSeconds(1).toNanos());
+        assertThat(cache.get(1L, () -> "v2")).isEqualTo("v2");
+        assertThat(delegate.get(1L, String.class)).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Should not write back a refresh that an eviction overtook")
+    void shouldNotOverwriteEvictionWithRefresh() {
+        cache.get(1L, () -> {
+            clock.addAndGet(LOAD_NANOS);
+            return "v1";
+        });
+        clock.set(LOAD_NANOS + TTL.toNanos() - Duration.ofSeconds(1).toNanos());
+
+        // The booking changes while the refresh is still reading the old row
+        assertThat(cache.get(1L, () -> {
+            cache.evict(1L);
+            return "v2-stale";
+        })).isEqualTo("v2-stale");
+
+        assertThat(delegate.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not keep a loaded value when the key was evicted during the load")
+    void shouldDropLoadOvertakenByEviction() {
+        delegate = lockFreeCache();
+        cache = new StampedeProtectedCache(delegate, TTL, 1.0, clock::get, () -> 0.5);
+
+        assertThat(cache.get(1L, () -> {
+            cache.evict(1L);
+            return "v1-stale";
+        })).isEqualTo("v1-stale");
+
+        assertThat(delegate.get(1L)).isNull();
+        assertThat(cache.get(1L, () -> "v1")).isEqualTo("v1");
+        assertThat(delegate.get(1L, String.class)).isEqualTo("v1");
+    }
+
+    @Test
+    @DisplayName("Should not keep a value loaded between a transactional eviction and its commit")
+    void shouldDropLoadStartedBeforeTransactionalEvictionCommits() throws Exception {
+        ConcurrentMapCache store = lockFreeCache();
+        cache = new StampedeProtectedCache(new TransactionAwareCacheDecorator(store), TTL, 1.0,
+                clock::get, () -> 0.5);
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // The booking is updated and its entry evicted, but the transaction has not committed yet
+            cache.evict(1L);
+            Future<String> load = executor.submit(() -> cache.get(1L, () -> {
+                loaderStarted.countDown();
+                committed.await(5, TimeUnit.SECONDS);
+                return "v1-stale";
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            committed.countDown();
+
+            assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("v1-stale");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            executor.shutdown();
+        }
+
+        assertThat(store.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not refresh entries written without a timed load")
+    void shouldNotRefreshEntriesWithoutTiming() {
+        cache.put(1L, "v1");
+        clock.set(TTL.toNanos());
+
+        assertThat(cache.get(1L, () -> "v2")).isEqualTo("v1");
+    }
+
+    @Test
+    @DisplayName("Should surface loader failures and load again on the next call")
+    void shouldPropagateLoaderFailure() {
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("database down");
+        }))
+                .isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(1L, () -> "v1")).isEqualTo("v1");
+    }
+
+    /**
+     * Loads outside any lock like RedisCache, so an eviction can land while the loader runs
+     */
+    private static ConcurrentMapCache lockFreeCache() {
+        return new ConcurrentMapCache("bookingDetails") {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T get(Object key, Callable<T> valueLoader) {
+                ValueWrapper cached = get(key);
+                if (cached != null) {
+                    return (T) cached.get();
+                }
+                try {
+                    T value = valueLoader.call();
+                    put(key, value);
+                    return value;
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+            }
+        };
+    }
+}
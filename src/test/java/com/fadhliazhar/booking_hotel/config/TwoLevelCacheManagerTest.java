@@ -0,0 +1,262 @@
+package com.fadhliazhar.booking_hotel.config;
+
+import com.fadhliazhar.booking_hotel.dto.amenity_type.AmenityTypeResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.common.CatalogSnapshot;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the Caffeine L1 / Redis L2 cache layering and pub/sub invalidation
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoLevelCacheManager Tests")
+class TwoLevelCacheManagerTest {
+
+    private static final String CHANNEL = "test:cache-invalidation";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager(CacheConfig.ROOMS_CACHE);
+        cacheManager = new TwoLevelCacheManager(remoteCacheManager, 100, Duration.ofMinutes(1), redisTemplate, CHANNEL);
+        cacheManager.afterPropertiesSet();
+        cacheManager.setLocalCachingEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Should serve hits from L1 without touching L2")
+    void shouldServeHitsFromLocalCache() {
+        Cache cache = cacheManager.getCache(CacheConfig.ROOMS_CACHE);
+        cache.put(1L, "room-1");
+
+        // Removing the value from L2 directly proves the next read is answered by L1
+        remoteCacheManager.getCache(CacheConfig.ROOMS_CACHE).evict(1L);
+
+        assertThat(cache.get(1L, String.class)).isEqualTo("room-1");
+    }
+
+    @Test
+    @DisplayName("Should bypass and drop L1 while invalidations are not received")
+    void shouldBypassLocalCacheWhenDisabled() {
+        Cache cache = cacheManager.getCache(CacheConfig.ROOMS_CACHE);
+        cache.put(1L, "room-1");
+
+        cacheManager.setLocalCachingEnabled(false);
+        remoteCacheManager.getCache(CacheConfig.ROOMS_CACHE).put(1L, "room-1-updated");
+        assertThat(cache.get(1L, String.class)).isEqualTo("room-1-updated");
+
+        cacheManager.setLocalCachingEnabled(true);
+        assertThat(cache.get(1L, String.class)).isEqualTo("room-1-updated");
+    }
+
+    @Test
+    @DisplayName("Should populate L1 from L2 and load at most once per key")
+    void shouldPopulateLocalCacheFromRemote() {
+        remoteCacheManager.getCache(CacheConfig.ROOMS_CACHE).put(2L, "room-2");
+        Cache cache = cacheManager.getCache(CacheConfig.ROOMS_CACHE);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(2L, String.class)).isEqualTo("room-2");
+        assertThat(cache.get(3L, () -> "room-" + (3 + loads.getAndIncrement()))).isEqualTo("room-3");
+        assertThat(cache.get(3L, () -> "room-" + (3 + loads.getAndIncrement()))).isEqualTo("room-3");
+        assertThat(loads).hasValue(1);
+        assertThat(remoteCacheManager.getCache(CacheConfig.ROOMS_CACHE).get(3L, String.class)).isEqualTo("room-3");
+    }
+
+    @Test
+    @DisplayName("Should publish writes and drop L1 entries on messages from other nodes")
+    void shouldInvalidateAcrossNodes() {
+        Cache cache = cacheManager.getCache(CacheConfig.ROOMS_CACHE);
+        cache.put(1L, "room-1");
+        cache.evict(4L);
+
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq(CHANNEL), published.capture());
+        assertThat(published.getAllValues().get(0)).endsWith("|rooms|E|1");
+
+        // Our own message is ignored, another node's message drops the L1 entry
+        remoteCacheManager.getCache(CacheConfig.ROOMS_CACHE).put(1L, "room-1-updated");
+        cacheManager.onMessage(message(published.getAllValues().get(0)), null);
+        assertThat(cache.get(1L, String.class)).isEqualTo("room-1");
+
+        cacheManager.onMessage(message("other-node|rooms|E|1"), null);
+        assertThat(cache.get(1L, String.class)).isEqualTo("room-1-updated");
+    }
+
+    @Test
+    @DisplayName("Should drop the whole L1 cache when another node clears it")
+    void shouldClearLocalCacheOnRemoteClear() {
+        Cache cache = cacheManager.getCache(CacheConfig.ROOMS_CACHE);
+        cache.put(1L, "room-1");
+        remoteCacheManager.getCache(CacheConfig.ROOMS_CACHE).clear();
+
+        cacheManager.onMessage(message("other-node|rooms|C|"), null);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not keep a value in L1 that an evict overtook while it was loading")
+    void shouldNotCacheLocallyWhatWasEvictedDuringLoad() throws Exception {
+        ConcurrentMapCache remote = lockFreeRemote();
+        TwoLevelCache cache = new TwoLevelCache(CacheConfig.ROOMS_CACHE, Caffeine.newBuilder().build(),
+                TwoLevelCache.LocalValueCodec.IDENTITY, remote, () -> true, (cacheName, key) -> { });
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+
+        CompletableFuture<String> load = CompletableFuture.supplyAsync(() -> cache.get(5L, () -> {
+            loading.countDown();
+            evicted.await();
+            return "room-5-stale";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evict(5L);
+        evicted.countDown();
+        assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("room-5-stale");
+
+        // The stale value written to L2 by the slow load is replaced; L1 must not still answer with it
+        remote.put(5L, "room-5-fresh");
+        assertThat(cache.get(5L, String.class)).isEqualTo("room-5-fresh");
+    }
+
+    @Test
+    @DisplayName("Should keep a value in L1 when only other keys changed while it was loading")
+    void shouldCacheLocallyWhenOtherKeysChangedDuringLoad() throws Exception {
+        ConcurrentMapCache remote = lockFreeRemote();
+        TwoLevelCache cache = new TwoLevelCache(CacheConfig.ROOMS_CACHE, Caffeine.newBuilder().build(),
+                TwoLevelCache.LocalValueCodec.IDENTITY, remote, () -> true, (cacheName, key) -> { });
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+
+        CompletableFuture<String> load = CompletableFuture.supplyAsync(() -> cache.get(5L, () -> {
+            loading.countDown();
+            written.await();
+            return "room-5";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.put(6L, "room-6");
+        cache.evict(7L);
+        written.countDown();
+        assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("room-5");
+
+        // Served from L1 even after L2 lost the entry
+        remote.evict(5L);
+        assertThat(cache.get(5L, String.class)).isEqualTo("room-5");
+    }
+
+    @Test
+    @DisplayName("Should hand out a separate copy of Redis-backed values on every L1 hit")
+    void shouldCopyRedisBackedValuesOnLocalHits() {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(mock(RedisCacheWriter.class))
+                .withCacheConfiguration(CacheConfig.ROOMS_CACHE, RedisCacheConfiguration.defaultCacheConfig()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                new CompactRedisSerializer<>(CompactRedisSerializer.smileMapper(),
+                                        RoomResponseDTO.class, 1024))))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        TwoLevelCacheManager redisBacked = new TwoLevelCacheManager(redisCacheManager, 100, Duration.ofMinutes(1),
+                redisTemplate, CHANNEL);
+        redisBacked.afterPropertiesSet();
+        redisBacked.setLocalCachingEnabled(true);
+        Cache cache = redisBacked.getCache(CacheConfig.ROOMS_CACHE);
+
+        RoomResponseDTO room = new RoomResponseDTO();
+        room.setRoomNumber(101);
+        cache.put(1L, room);
+        room.setRoomNumber(999);
+
+        RoomResponseDTO first = cache.get(1L, RoomResponseDTO.class);
+        first.setRoomNumber(202);
+
+        assertThat(cache.get(1L, RoomResponseDTO.class))
+                .isNotSameAs(first)
+                .extracting(RoomResponseDTO::getRoomNumber)
+                .isEqualTo(101);
+    }
+
+    @Test
+    @DisplayName("Should keep immutable values of shared-value caches in L1 by reference")
+    void shouldShareValuesOfSharedValueCaches() {
+        ObjectMapper mapper = CompactRedisSerializer.smileMapper();
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(mock(RedisCacheWriter.class))
+                .withCacheConfiguration(CacheConfig.AMENITY_TYPES_CACHE, RedisCacheConfiguration.defaultCacheConfig()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                new CompactRedisSerializer<>(mapper, mapper.getTypeFactory().constructParametricType(
+                                        CatalogSnapshot.class, AmenityTypeResponseDTO.class), 1024))))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        TwoLevelCacheManager redisBacked = new TwoLevelCacheManager(redisCacheManager, 100, Duration.ofMinutes(1),
+                redisTemplate, CHANNEL);
+        redisBacked.setSharedValueCacheNames(List.of(CacheConfig.AMENITY_TYPES_CACHE));
+        redisBacked.afterPropertiesSet();
+        redisBacked.setLocalCachingEnabled(true);
+        Cache cache = redisBacked.getCache(CacheConfig.AMENITY_TYPES_CACHE);
+
+        CatalogSnapshot<AmenityTypeResponseDTO> snapshot = new CatalogSnapshot<>(List.of(
+                AmenityTypeResponseDTO.builder().id(1L).name("Balcony").isActive(true).build()));
+        cache.put("snapshot", snapshot);
+
+        assertThat(cache.get("snapshot", CatalogSnapshot.class)).isSameAs(snapshot);
+        assertThat(cache.<Object>get("snapshot", () -> {
+            throw new AssertionError("L1 hit expected");
+        })).isSameAs(snapshot);
+        assertThatThrownBy(() -> snapshot.getEntries().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    /**
+     * Like RedisCache, holds no lock while the loader runs, so an evict can interleave with the load
+     */
+    private static ConcurrentMapCache lockFreeRemote() {
+        return new ConcurrentMapCache(CacheConfig.ROOMS_CACHE) {
+            @Override
+            public <T> T get(Object key, Callable<T> valueLoader) {
+                try {
+                    T value = valueLoader.call();
+                    put(key, value);
+                    return value;
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+            }
+        };
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
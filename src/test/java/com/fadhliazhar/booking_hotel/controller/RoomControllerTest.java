@@ -0,0 +1,122 @@
+package com.fadhliazhar.booking_hotel.controller;
+
+import com.fadhliazhar.booking_hotel.config.CacheConfig;
+import com.fadhliazhar.booking_hotel.config.JacksonConfig;
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityResponseDTO;
+import com.fadhliazhar.booking_hotel.service.AvailabilityCache;
+import com.fadhliazhar.booking_hotel.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Conditional request handling of the cached available-room lookup
+ */
+@DisplayName("RoomController Tests")
+class RoomControllerTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final RoomService roomService = mock(RoomService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AvailabilityCache availabilityCache = new AvailabilityCache(new ConcurrentMapCacheManager(
+                CacheConfig.AVAILABILITY_VERSIONS_CACHE, CacheConfig.AVAILABLE_ROOM_RESPONSES_CACHE));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new RoomController(roomService, availabilityCache, objectMapper))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+
+        RoomAvailabilityResponseDTO room = new RoomAvailabilityResponseDTO();
+        room.setId(1L);
+        room.setRoomNumber(101);
+        room.setRoomPrice(new BigDecimal("150.00"));
+        when(roomService.getAvailableRoom(any(RoomAvailabilityRequestDTO.class))).thenReturn(room);
+    }
+
+    @Test
+    @DisplayName("Should keep the ETag of unchanged room data and answer a matching GET with 304")
+    void shouldAnswerMatchingGetWithNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/rooms/available-room").params(stayParams()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.data.roomNumber").value(101))
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // The envelope timestamp differs between responses, the ETag of the data does not
+        mockMvc.perform(get("/api/v1/rooms/available-room").params(stayParams()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        mockMvc.perform(get("/api/v1/rooms/available-room").params(stayParams())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verify(roomService, times(1)).getAvailableRoom(any(RoomAvailabilityRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should fail a POST whose If-None-Match matches with 412")
+    void shouldFailMatchingPostWithPreconditionFailed() throws Exception {
+        String body = objectMapper.writeValueAsString(stay());
+        String etag = mockMvc.perform(post("/api/v1/rooms/available-room")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.roomNumber").value(101))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/v1/rooms/available-room")
+                        .contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(post("/api/v1/rooms/available-room")
+                        .contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    private RoomAvailabilityRequestDTO stay() {
+        RoomAvailabilityRequestDTO request = new RoomAvailabilityRequestDTO();
+        request.setNumberOfAdults(2);
+        request.setNumberOfChildren(0);
+        request.setCheckInDate(CHECK_IN);
+        request.setCheckOutDate(CHECK_OUT);
+        return request;
+    }
+
+    private MultiValueMap<String, String> stayParams() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("numberOfAdults", "2");
+        params.add("numberOfChildren", "0");
+        params.add("checkInDate", CHECK_IN.toString());
+        params.add("checkOutDate", CHECK_OUT.toString());
+        return params;
+    }
+}
@@ -0,0 +1,67 @@
+package com.fadhliazhar.booking_hotel.integration;
+
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.lifecycle.Startables;
+
+/**
+ * Shared MySQL and Redis containers for integration tests, skipped when Docker is not available.
+ * <p>
+ * The containers start with the first application context and are reused for the rest of the run. Every test
+ * class gets its own context on a freshly created schema and an empty Redis, so classes cannot see each other's
+ * rows or cache entries. Subclasses add their own properties, including the JWT issuer, with their own
+ * {@code @DynamicPropertySource}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public abstract class AbstractContainerIntegrationTest {
+
+    protected static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("booking_hotel_test")
+            .withUsername("test")
+            .withPassword("test")
+            // Pinned so guest name search does not depend on the image default
+            .withCommand("--ngram_token_size=2");
+
+    protected static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        Startables.deepStart(mysql, redis).join();
+        flushRedis();
+
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+    }
+
+    /**
+     * Points the resource server at a placeholder issuer for tests that never send a token. Properties registered
+     * here in the base class win over a subclass's, so the issuer is left to each subclass to register.
+     */
+    protected static void registerPlaceholderIssuer(DynamicPropertyRegistry registry) {
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri",
+            () -> "http://localhost:8080/auth/realms/test");
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri",
+            () -> "http://localhost:8080/auth/realms/test/protocol/openid_connect/certs");
+    }
+
+    private static void flushRedis() {
+        try {
+            redis.execInContainer("redis-cli", "FLUSHALL");
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not flush the Redis test container", e);
+        }
+    }
+}
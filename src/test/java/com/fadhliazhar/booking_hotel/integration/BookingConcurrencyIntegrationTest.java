@@ -0,0 +1,150 @@
+package com.fadhliazhar.booking_hotel.integration;
+
+import com.fadhliazhar.booking_hotel.dto.booking.BookingRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
+import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.service.BookingService;
+import com.fadhliazhar.booking_hotel.service.RoomService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Stress test for concurrent booking creation: many threads race for the same rooms
+ * and the committed bookings must never overlap
+ */
+@Slf4j
+@SpringBootTest
+@DisplayName("Booking Concurrency Integration Tests")
+class BookingConcurrencyIntegrationTest extends AbstractContainerIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int BOOKING_WINDOW_DAYS = 30;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(THREADS + 4));
+
+        registerPlaceholderIssuer(registry);
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    @DisplayName("Should never commit overlapping bookings under concurrent creation")
+    void shouldNeverCommitOverlappingBookings() throws Exception {
+        List<Long> roomIds = List.of(createRoom(9001).getId(), createRoom(9002).getId());
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger lockConflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(BOOKING_WINDOW_DAYS));
+                    BookingRequestDTO request = bookingRequest(
+                            roomIds.get(random.nextInt(roomIds.size())), checkIn, checkIn.plusDays(1 + random.nextInt(4)));
+                    try {
+                        bookingService.create(request);
+                        created.incrementAndGet();
+                    } catch (BusinessValidationException e) {
+                        rejected.incrementAndGet();
+                    } catch (PessimisticLockingFailureException e) {
+                        lockConflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("Concurrent booking stress: {} attempts in {}s ({} req/s), created={}, rejected={}, lockConflicts={}",
+                attempts, String.format("%.2f", elapsedSeconds), String.format("%.1f", attempts / elapsedSeconds),
+                created.get(), rejected.get(), lockConflicts.get());
+
+        assertThat(created.get() + rejected.get() + lockConflicts.get()).isEqualTo(attempts);
+        assertThat(created.get()).isPositive();
+
+        for (Long roomId : roomIds) {
+            List<Booking> bookings = bookingRepository.findAll().stream()
+                    .filter(b -> b.getRoomId().equals(roomId))
+                    .filter(b -> b.getBookingStatus() == BookingStatus.BOOKED)
+                    .sorted(Comparator.comparing(Booking::getCheckedInDate))
+                    .toList();
+
+            for (int i = 1; i < bookings.size(); i++) {
+                assertThat(bookings.get(i).getCheckedInDate())
+                        .as("Booking %d overlaps booking %d in room %d",
+                                bookings.get(i).getId(), bookings.get(i - 1).getId(), roomId)
+                        .isAfterOrEqualTo(bookings.get(i - 1).getCheckedOutDate());
+            }
+        }
+    }
+
+    private RoomResponseDTO createRoom(int roomNumber) {
+        RoomRequestDTO roomRequest = new RoomRequestDTO();
+        roomRequest.setRoomNumber(roomNumber);
+        roomRequest.setRoomPrice(new BigDecimal("150.00"));
+        roomRequest.setAdultCapacity(2);
+        roomRequest.setChildrenCapacity(1);
+        return roomService.create(roomRequest);
+    }
+
+    private BookingRequestDTO bookingRequest(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setFirstName("Load");
+        request.setLastName("Test");
+        request.setCheckedInDate(checkIn);
+        request.setCheckedOutDate(checkOut);
+        request.setAdultCapacity(2);
+        request.setChildrenCapacity(0);
+        request.setRoomId(roomId);
+        return request;
+    }
+}
@@ -0,0 +1,151 @@
+package com.fadhliazhar.booking_hotel.integration;
+
+import com.fadhliazhar.booking_hotel.model.BookingEventType;
+import com.fadhliazhar.booking_hotel.model.BookingOutboxEvent;
+import com.fadhliazhar.booking_hotel.repository.BookingOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The outbox native queries against real MySQL: batch locking in id order, publishers taking turns
+ * on a locked batch, and the bounded purge
+ */
+@SpringBootTest(properties = "app.outbox.publisher.enabled=false")
+@DisplayName("Booking Outbox Integration Tests")
+class BookingOutboxIntegrationTest extends AbstractContainerIntegrationTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registerPlaceholderIssuer(registry);
+    }
+
+    @Autowired
+    private BookingOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM booking_outbox");
+        // Same isolation as the publisher
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should lock the oldest unpublished events in id order")
+    void shouldLockOldestUnpublishedEvents() {
+        List<Long> ids = record(4);
+        jdbcTemplate.update("UPDATE booking_outbox SET published_at = NOW(6) WHERE id = ?", ids.get(0));
+
+        List<Long> batch = transactionTemplate.execute(status -> idsOf(outboxRepository.lockUnpublishedBatch(2)));
+
+        assertThat(batch).containsExactly(ids.get(1), ids.get(2));
+    }
+
+    @Test
+    @DisplayName("Should make a second publisher wait for the locked batch and continue after it")
+    void shouldSerializePublishers() throws Exception {
+        List<Long> ids = record(4);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<List<Long>> first = executor.submit(() -> transactionTemplate.execute(status -> {
+            List<Long> batch = idsOf(outboxRepository.lockUnpublishedBatch(2));
+            locked.countDown();
+            await(release);
+            outboxRepository.markPublished(batch, LocalDateTime.now());
+            return batch;
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<List<Long>> second = executor.submit(() ->
+                transactionTemplate.execute(status -> idsOf(outboxRepository.lockUnpublishedBatch(2))));
+        assertThatThrownBy(() -> second.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).containsExactly(ids.get(0), ids.get(1));
+        assertThat(second.get(10, TimeUnit.SECONDS)).containsExactly(ids.get(2), ids.get(3));
+    }
+
+    @Test
+    @DisplayName("Should purge only events published before the cutoff, at most the limit per call")
+    void shouldPurgePublishedEventsInBoundedBatches() {
+        List<Long> ids = record(5);
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : ids.subList(0, 3)) {
+            jdbcTemplate.update("UPDATE booking_outbox SET published_at = ? WHERE id = ?", now.minusDays(10), id);
+        }
+        jdbcTemplate.update("UPDATE booking_outbox SET published_at = ? WHERE id = ?", now.minusHours(1), ids.get(3));
+        LocalDateTime cutoff = now.minusDays(7);
+
+        assertThat(purge(cutoff, 2)).isEqualTo(2);
+        assertThat(purge(cutoff, 2)).isEqualTo(1);
+        assertThat(purge(cutoff, 2)).isZero();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM booking_outbox ORDER BY id", Long.class))
+                .containsExactly(ids.get(3), ids.get(4));
+    }
+
+    private List<Long> record(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(outboxRepository.save(new BookingOutboxEvent(100L + i, BookingEventType.BOOKING_CREATED, "{}"))
+                    .getId());
+        }
+        return ids;
+    }
+
+    private int purge(LocalDateTime cutoff, int limit) {
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(cutoff, limit));
+        return deleted != null ? deleted : 0;
+    }
+
+    private static List<Long> idsOf(List<BookingOutboxEvent> events) {
+        return events.stream().map(BookingOutboxEvent::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.fadhliazhar.booking_hotel.integration;
+
+import com.fadhliazhar.booking_hotel.dto.booking.BookingRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.common.PageRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.common.PageResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.service.BookingService;
+import com.fadhliazhar.booking_hotel.service.RoomService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Guards booking list endpoints against N+1 queries using Hibernate statistics
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Booking Query Count Integration Tests")
+class BookingQueryCountIntegrationTest extends AbstractContainerIntegrationTest {
+
+    private static final int ROOMS = 5;
+    private static final int BOOKINGS_PER_ROOM = 6;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+
+        registerPlaceholderIssuer(registry);
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void createBookings() {
+        for (int r = 0; r < ROOMS; r++) {
+            RoomResponseDTO room = createRoom(8001 + r);
+            for (int b = 0; b < BOOKINGS_PER_ROOM; b++) {
+                LocalDate checkIn = LocalDate.now().plusDays(1 + b * 3L);
+                bookingService.create(bookingRequest(room.getId(), checkIn, checkIn.plusDays(2)));
+            }
+        }
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a booking page with one select and one count regardless of page size")
+    void shouldLoadBookingPageWithConstantQueryCount() {
+        PageRequestDTO pageRequest = new PageRequestDTO();
+        pageRequest.setSize(ROOMS * BOOKINGS_PER_ROOM);
+
+        PageResponseDTO<BookingResponseDTO> page = bookingService.getAll(pageRequest);
+
+        assertThat(page.getContent()).hasSize(ROOMS * BOOKINGS_PER_ROOM);
+        assertThat(page.getContent()).allSatisfy(booking -> assertThat(booking.getRoomNumber()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should load all bookings with a single query")
+    void shouldLoadAllBookingsWithSingleQuery() {
+        List<BookingResponseDTO> bookings = bookingService.getAll();
+
+        assertThat(bookings).hasSize(ROOMS * BOOKINGS_PER_ROOM);
+        assertThat(bookings).allSatisfy(booking -> assertThat(booking.getRoomNumber()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private RoomResponseDTO createRoom(int roomNumber) {
+        RoomRequestDTO roomRequest = new RoomRequestDTO();
+        roomRequest.setRoomNumber(roomNumber);
+        roomRequest.setRoomPrice(new BigDecimal("150.00"));
+        roomRequest.setAdultCapacity(2);
+        roomRequest.setChildrenCapacity(1);
+        return roomService.create(roomRequest);
+    }
+
+    private BookingRequestDTO bookingRequest(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setFirstName("Query");
+        request.setLastName("Count");
+        request.setCheckedInDate(checkIn);
+        request.setCheckedOutDate(checkOut);
+        request.setAdultCapacity(2);
+        request.setChildrenCapacity(0);
+        request.setRoomId(roomId);
+        return request;
+    }
+}
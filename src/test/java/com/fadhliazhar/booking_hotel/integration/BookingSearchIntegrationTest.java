@@ -0,0 +1,124 @@
+package com.fadhliazhar.booking_hotel.integration;
+
+import com.fadhliazhar.booking_hotel.dto.booking.BookingRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.common.PageRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.service.BookingService;
+import com.fadhliazhar.booking_hotel.service.RoomService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Booking search against real MySQL: the generated schema must carry the ngram full-text index from V4,
+ * and name, id and status terms must each find their bookings
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Booking Search Integration Tests")
+class BookingSearchIntegrationTest extends AbstractContainerIntegrationTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registerPlaceholderIssuer(registry);
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BookingResponseDTO margaret;
+
+    @BeforeAll
+    void createBookings() {
+        RoomResponseDTO room = createRoom();
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        margaret = bookingService.create(bookingRequest(room.getId(), "Margaret", "Thornton", checkIn));
+        bookingService.create(bookingRequest(room.getId(), "Oliver", "Bennett", checkIn.plusDays(3)));
+    }
+
+    @Test
+    @DisplayName("Should run MySQL with the ngram token size the search assumes")
+    void shouldUseExpectedNgramTokenSize() {
+        assertThat(jdbcTemplate.queryForObject("SELECT @@ngram_token_size", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should create the guest name full-text index with the schema")
+    void shouldCreateGuestNameFullTextIndex() {
+        List<String> columns = jdbcTemplate.queryForList("""
+                SELECT column_name FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'bookings'
+                AND index_name = 'ft_bookings_guest_name' AND index_type = 'FULLTEXT'
+                ORDER BY seq_in_index
+                """, String.class);
+
+        assertThat(columns).containsExactly("first_name", "last_name");
+    }
+
+    @Test
+    @DisplayName("Should find bookings by part of the guest name")
+    void shouldFindBookingsByPartialGuestName() {
+        assertThat(search("thorn")).extracting(BookingResponseDTO::getId).containsExactly(margaret.getId());
+        assertThat(search("Marg Thornton")).extracting(BookingResponseDTO::getId).containsExactly(margaret.getId());
+        assertThat(search("Margaret Bennett")).isEmpty();
+        // No word long enough for the full-text index: nothing matches, not the whole table
+        assertThat(search("a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find bookings by id and by status")
+    void shouldFindBookingsByIdAndStatus() {
+        assertThat(search(String.valueOf(margaret.getId())))
+                .extracting(BookingResponseDTO::getId)
+                .contains(margaret.getId());
+        assertThat(search("booked")).hasSize(2);
+        assertThat(search("checked in")).isEmpty();
+    }
+
+    private List<BookingResponseDTO> search(String term) {
+        PageRequestDTO pageRequest = new PageRequestDTO();
+        pageRequest.setSearch(term);
+        return bookingService.getAll(pageRequest).getContent();
+    }
+
+    private RoomResponseDTO createRoom() {
+        RoomRequestDTO roomRequest = new RoomRequestDTO();
+        roomRequest.setRoomNumber(9301);
+        roomRequest.setRoomPrice(new BigDecimal("150.00"));
+        roomRequest.setAdultCapacity(2);
+        roomRequest.setChildrenCapacity(1);
+        return roomService.create(roomRequest);
+    }
+
+    private BookingRequestDTO bookingRequest(Long roomId, String firstName, String lastName, LocalDate checkIn) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setFirstName(firstName);
+        request.setLastName(lastName);
+        request.setCheckedInDate(checkIn);
+        request.setCheckedOutDate(checkIn.plusDays(2));
+        request.setAdultCapacity(2);
+        request.setChildrenCapacity(0);
+        request.setRoomId(roomId);
+        return request;
+    }
+}
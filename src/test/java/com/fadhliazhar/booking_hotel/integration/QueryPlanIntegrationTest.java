@@ -0,0 +1,384 @@
+package com.fadhliazhar.booking_hotel.integration;
+
+import com.fadhliazhar.booking_hotel.repository.BookingKeysetSort;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.repository.BookingSearchCriteria;
+import com.fadhliazhar.booking_hotel.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Guards the hot booking and availability queries against full table scans using MySQL EXPLAIN.
+ * <p>
+ * The plans are taken for the SQL Hibernate actually sends: every statement prepared through the DataSource is
+ * recorded with its bound parameters and replayed under EXPLAIN. The legacy V1/V2 migrations cannot build this
+ * schema from scratch, so it is generated from the entity mappings, and a separate check ensures each of its
+ * secondary indexes is created by a Flyway migration as well.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Query Plan Integration Tests")
+class QueryPlanIntegrationTest extends AbstractContainerIntegrationTest {
+
+    private static final int ROOMS = 400;
+    private static final int BOOKINGS = 4000;
+    private static final int USERS = 200;
+    // The booking list's default page: newest first
+    private static final Pageable SEARCH_PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registerPlaceholderIssuer(registry);
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @BeforeAll
+    void seed() {
+        List<Map<String, Object>> rooms = new ArrayList<>();
+        for (int r = 1; r <= ROOMS; r++) {
+            rooms.add(Map.of(
+                    "roomNumber", 10000 + r,
+                    "roomPrice", BigDecimal.valueOf(80 + (r * 37) % 400),
+                    "adultCapacity", 1 + r % 4,
+                    "childrenCapacity", r % 3));
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO rooms (room_number, room_price, adult_capacity, children_capacity, is_available)
+                VALUES (:roomNumber, :roomPrice, :adultCapacity, :childrenCapacity, true)
+                """, rooms.toArray(Map[]::new));
+
+        // Mostly past stays, so active bookings are a small share of the table as in production
+        List<Long> roomIds = jdbcTemplate.getJdbcTemplate().queryForList("SELECT id FROM rooms", Long.class);
+        LocalDate today = LocalDate.now();
+        List<Map<String, Object>> bookings = new ArrayList<>();
+        for (int b = 0; b < BOOKINGS; b++) {
+            boolean active = b % 10 == 0;
+            LocalDate checkIn = active ? today.plusDays(1 + b % 60) : today.minusDays(30 + b % 700);
+            Map<String, Object> row = new HashMap<>();
+            row.put("firstName", "Guest" + b % 97);
+            row.put("lastName", "Family" + b % 503);
+            row.put("checkIn", checkIn);
+            row.put("checkOut", checkIn.plusDays(1 + b % 4));
+            row.put("roomId", roomIds.get(b % roomIds.size()));
+            row.put("status", active ? "BOOKED" : "CHECKED_OUT");
+            row.put("userId", "user-" + b % USERS);
+            bookings.add(row);
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO bookings (first_name, last_name, checked_in_date, checked_out_date, adult_capacity,
+                                      children_capacity, room_id, booking_status, user_id)
+                VALUES (:firstName, :lastName, :checkIn, :checkOut, 2, 0, :roomId, :status, :userId)
+                """, bookings.toArray(Map[]::new));
+
+        jdbcTemplate.getJdbcTemplate().execute("ANALYZE TABLE rooms, bookings");
+    }
+
+    @Test
+    @DisplayName("Should look up the cheapest available room through indexes")
+    void findOneAvailableRoomShouldUseIndexes() {
+        List<Map<String, Object>> plan = explain(() -> roomRepository.findOneAvailableRoom(
+                2, 0, LocalDate.now().plusDays(5), LocalDate.now().plusDays(7)));
+
+        assertNoFullScan(plan, "r");
+        assertNoFullScan(plan, "b");
+    }
+
+    @Test
+    @DisplayName("Should page available rooms by (price, id) through indexes")
+    void searchAvailableRoomsShouldUseIndexes() {
+        List<Map<String, Object>> plan = explain(() -> roomRepository.searchAvailableRooms(
+                2, 0, LocalDate.now().plusDays(5), LocalDate.now().plusDays(7),
+                null, null, null, null, new BigDecimal("400"), 0L, 20));
+
+        assertNoFullScan(plan, "r");
+        assertNoFullScan(plan, "b");
+    }
+
+    @Test
+    @DisplayName("Should list one user's bookings through the user index")
+    void userBookingListingShouldUseIndex() {
+        List<Map<String, Object>> plan = explain(() -> bookingRepository.findSummariesByUserIdBefore(
+                "user-7", Long.MAX_VALUE, PageRequest.of(0, 20)));
+
+        assertThat(row(plan, "b")).containsEntry("key", "idx_bookings_user_id");
+    }
+
+    @Test
+    @DisplayName("Should find the rooms and bookings written since the last index sync through the updated_at indexes")
+    void availabilityIndexSyncShouldUseIndexes() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(3);
+
+        assertThat(row(explain(() -> roomRepository.findByUpdatedAtAfter(since)), "r"))
+                .containsEntry("key", "idx_rooms_updated_at");
+        assertThat(row(explain(() -> bookingRepository.findStaysUpdatedAfter(since)), "b"))
+                .containsEntry("key", "idx_bookings_updated_at");
+    }
+
+    @Test
+    @DisplayName("Should page bookings sorted by guest name through the name index")
+    void guestNameKeysetPageShouldUseIndex() {
+        List<Map<String, Object>> plan = explain(() -> bookingRepository.findSummariesAfter(
+                BookingSearchCriteria.parse(null), BookingKeysetSort.LAST_NAME, true, "Family400", 0L, 20));
+
+        assertNoFullScan(plan, "b");
+        assertNoFullScan(plan, "r");
+    }
+
+    @Test
+    @DisplayName("Should read every cursor sort in index order without a filesort")
+    void keysetPagesShouldFollowAnIndex() {
+        for (BookingKeysetSort sort : BookingKeysetSort.values()) {
+            List<Map<String, Object>> plan = explain(() -> bookingRepository.findSummariesAfter(
+                    BookingSearchCriteria.parse(null), sort, true, null, null, 21));
+
+            assertThat(String.valueOf(row(plan, "b").get("Extra")))
+                    .as("extra of %s keyset page in %s", sort, plan)
+                    .doesNotContain("filesort");
+        }
+    }
+
+    @Test
+    @DisplayName("Should search bookings by booking or room id without scanning bookings")
+    void idSearchShouldUseIndexes() {
+        Long roomId = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT MIN(id) FROM rooms", Long.class);
+
+        for (List<Map<String, Object>> plan : explainAll(() -> bookingRepository.searchSummaries(
+                BookingSearchCriteria.parse(String.valueOf(roomId)), SEARCH_PAGE))) {
+            assertNoFullScan(plan, "b");
+        }
+        List<Map<String, Object>> keysetPlan = explain(() -> bookingRepository.findSummariesAfter(
+                BookingSearchCriteria.parse(String.valueOf(roomId)), BookingKeysetSort.ID, false, null, null, 21));
+        assertNoFullScan(keysetPlan, "b");
+    }
+
+    @Test
+    @DisplayName("Should search bookings by status through the status index")
+    void statusSearchShouldUseIndex() {
+        for (List<Map<String, Object>> plan : explainAll(() -> bookingRepository.searchSummaries(
+                BookingSearchCriteria.parse("booked"), SEARCH_PAGE))) {
+            assertNoFullScan(plan, "b");
+        }
+    }
+
+    @Test
+    @DisplayName("Should search bookings by guest name through the full-text index")
+    void guestNameSearchShouldUseFullTextIndex() {
+        for (List<Map<String, Object>> plan : explainAll(() -> bookingRepository.searchSummaries(
+                BookingSearchCriteria.parse("Family40"), SEARCH_PAGE))) {
+            assertThat(row(plan, "b")).containsEntry("key", "ft_bookings_guest_name");
+        }
+    }
+
+    @Test
+    @DisplayName("Should read active stays through the status and check-out index")
+    void activeStaysShouldUseIndex() {
+        List<Map<String, Object>> plan = explain(() -> bookingRepository.findActiveStaysEndingAfter(LocalDate.now()));
+
+        assertThat(row(plan, "b")).containsEntry("key", "idx_bookings_status_checked_out");
+    }
+
+    @Test
+    @DisplayName("Should create every secondary index of the generated schema in a Flyway migration")
+    void secondaryIndexesShouldComeFromFlywayMigrations() throws IOException {
+        StringBuilder migrations = new StringBuilder();
+        for (Resource script : new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql")) {
+            migrations.append(script.getContentAsString(StandardCharsets.UTF_8));
+        }
+        List<String> indexes = jdbcTemplate.getJdbcTemplate().queryForList("""
+                SELECT DISTINCT index_name FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name IN ('bookings', 'rooms')
+                AND non_unique = 1 AND index_name NOT LIKE 'FK%'
+                """, String.class);
+
+        assertThat(indexes)
+                .isNotEmpty()
+                .allSatisfy(index -> assertThat(migrations)
+                        .as("Flyway migration creating index %s", index)
+                        .contains(index));
+    }
+
+    /**
+     * Run a repository call and EXPLAIN the first statement it sent, with the same bound parameters
+     */
+    private List<Map<String, Object>> explain(Runnable query) {
+        return explainAll(query).get(0);
+    }
+
+    /**
+     * Run a repository call and EXPLAIN every statement it sent, e.g. both the page and the count query
+     */
+    private List<List<Map<String, Object>>> explainAll(Runnable query) {
+        statementRecorder.clear();
+        query.run();
+        return statementRecorder.all().stream().map(this::explain).toList();
+    }
+
+    private List<Map<String, Object>> explain(RecordedStatement statement) {
+        return jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql());
+            statement.bind(explain);
+            return explain;
+        }, new ColumnMapRowMapper());
+    }
+
+    /**
+     * The plan row of a query alias; Hibernate renders JPQL aliases as e.g. b1_0, native SQL keeps them as written
+     */
+    private Map<String, Object> row(List<Map<String, Object>> plan, String alias) {
+        return plan.stream()
+                .filter(row -> row.get("table") instanceof String table && table.matches(alias + "(\\d+_\\d+)?"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan row for alias " + alias + ": " + plan));
+    }
+
+    private void assertNoFullScan(List<Map<String, Object>> plan, String alias) {
+        assertThat(row(plan, alias).get("type"))
+                .as("access type of %s in %s", alias, plan)
+                .isNotEqualTo("ALL");
+    }
+
+    @TestConfiguration
+    static class StatementRecorderConfiguration {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    /**
+     * A parameter setter call on a prepared statement, replayed onto the EXPLAIN statement
+     */
+    record Binding(Method setter, Object[] args) {
+    }
+
+    record RecordedStatement(String sql, List<Binding> bindings) {
+
+        void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                invoke(statement, binding.setter(), binding.args());
+            }
+        }
+    }
+
+    /**
+     * Wraps the application DataSource to record every statement executed through it
+     */
+    static class StatementRecorder implements BeanPostProcessor {
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return recording(super.getConnection());
+                }
+            };
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        List<RecordedStatement> all() {
+            assertThat(statements).as("statements sent by the repository call").isNotEmpty();
+            return List.copyOf(statements);
+        }
+
+        private Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement")) {
+                            return recording((PreparedStatement) result, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Binding> bindings = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            bindings.put(index, new Binding(method, args));
+                        } else if (name.equals("clearParameters")) {
+                            bindings.clear();
+                        } else if (name.startsWith("execute")) {
+                            statements.add(new RecordedStatement(sql, List.copyOf(bindings.values())));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.fadhliazhar.booking_hotel.integration;
+
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Caching with the in-memory L1 switched off: the Redis cache manager must still apply the typed
+ * per-cache configurations
+ */
+@SpringBootTest(properties = "app.cache.local.enabled=false")
+@DisplayName("Redis-only Cache Integration Tests")
+class RedisOnlyCacheIntegrationTest extends AbstractContainerIntegrationTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registerPlaceholderIssuer(registry);
+    }
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Test
+    @DisplayName("Should store typed entries in the compact format and read them back as DTOs")
+    void shouldReadBackTypedHit() {
+        RoomResponseDTO room = new RoomResponseDTO();
+        room.setId(42L);
+        room.setRoomNumber(4201);
+        room.setRoomPrice(new BigDecimal("180.00"));
+
+        Cache cache = cacheManager.getCache(ROOMS_CACHE);
+        cache.put(42L, room);
+
+        // The typed configuration writes under its format prefix with the room TTL, not the JSON default
+        assertThat(redisTemplate.hasKey("booking-hotel:rooms:smile:42")).isTrue();
+        assertThat(redisTemplate.getExpire("booking-hotel:rooms:smile:42")).isBetween(1L, 30 * 60L);
+
+        assertThat(cache.get(42L, RoomResponseDTO.class))
+                .extracting(RoomResponseDTO::getRoomNumber, RoomResponseDTO::getRoomPrice)
+                .containsExactly(4201, new BigDecimal("180.00"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.fadhliazhar.booking_hotel.integration;
+
+import com.fadhliazhar.booking_hotel.dto.room.RoomRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.exception.ResourceNotFoundException;
+import com.fadhliazhar.booking_hotel.service.RoomService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Room caching against real MySQL and Redis: per-id entries and the sorted room list
+ * must reflect every create, update and delete
+ */
+@SpringBootTest
+@DisplayName("Room Cache Integration Tests")
+class RoomCacheIntegrationTest extends AbstractContainerIntegrationTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registerPlaceholderIssuer(registry);
+    }
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    @DisplayName("Should cache rooms per id and keep them coherent after writes")
+    void shouldKeepRoomCachesCoherentAfterWrites() {
+        RoomResponseDTO first = roomService.create(roomRequest(7102, "150.00"));
+        RoomResponseDTO second = roomService.create(roomRequest(7101, "200.00"));
+
+        // Each id has its own entry
+        assertThat(roomService.getById(first.getId()).getRoomNumber()).isEqualTo(7102);
+        assertThat(roomService.getById(second.getId()).getRoomNumber()).isEqualTo(7101);
+        assertThat(cacheManager.getCache(ROOMS_CACHE).get(second.getId(), RoomResponseDTO.class))
+                .extracting(RoomResponseDTO::getRoomNumber)
+                .isEqualTo(7101);
+
+        // The list is cached sorted by room number
+        assertThat(roomService.getAll()).extracting(RoomResponseDTO::getRoomNumber)
+                .containsSubsequence(7101, 7102);
+        assertThat(cacheManager.getCache(ROOM_LIST_CACHE).get("all")).isNotNull();
+
+        roomService.update(first.getId(), roomRequest(7100, "175.00"));
+
+        assertThat(roomService.getById(first.getId()))
+                .extracting(RoomResponseDTO::getRoomNumber, RoomResponseDTO::getRoomPrice)
+                .containsExactly(7100, new BigDecimal("175.00"));
+        assertThat(roomService.getAll()).extracting(RoomResponseDTO::getRoomNumber)
+                .containsSubsequence(7100, 7101);
+
+        roomService.deleteById(second.getId());
+
+        assertThatThrownBy(() -> roomService.getById(second.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(roomService.getAll()).extracting(RoomResponseDTO::getRoomNumber)
+                .contains(7100)
+                .doesNotContain(7101);
+    }
+
+    private RoomRequestDTO roomRequest(int roomNumber, String price) {
+        RoomRequestDTO roomRequest = new RoomRequestDTO();
+        roomRequest.setRoomNumber(roomNumber);
+        roomRequest.setRoomPrice(new BigDecimal(price));
+        roomRequest.setAdultCapacity(2);
+        roomRequest.setChildrenCapacity(1);
+        return roomRequest;
+    }
+}
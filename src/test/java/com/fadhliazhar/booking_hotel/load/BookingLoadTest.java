@@ -0,0 +1,313 @@
+package com.fadhliazhar.booking_hotel.load;
+
+import com.fadhliazhar.booking_hotel.integration.AbstractContainerIntegrationTest;
+import com.fadhliazhar.booking_hotel.service.RoomAvailabilityIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * End-to-end load run against the booking and room APIs over HTTP.
+ * <p>
+ * The application boots on a random port with MySQL and Redis in Testcontainers and a local JWT issuer stub
+ * behind the JWK Set URI. A closed-loop client of {@code load.users} threads drives a weighted mix of availability
+ * searches, booking creates, status patches and booking lists, first for {@code load.warmup} and then for the
+ * measured {@code load.duration}. Latency percentiles and throughput per endpoint are printed and written
+ * to {@code load.report}. Tagged {@code load}, so it only runs with {@code mvn -Pload-test verify}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Booking Load Test")
+class BookingLoadTest extends AbstractContainerIntegrationTest {
+
+    private static final int ROOMS = 300;
+    private static final int SEEDED_BOOKINGS = 3000;
+    private static final int GUESTS = 100;
+    private static final int HOT_CHECK_IN_DAYS = 14;
+
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final Path REPORT = Path.of(System.getProperty("load.report", "target/load-test-report.json"));
+
+    private static final JwtIssuerStub jwtIssuer = JwtIssuerStub.start();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri", jwtIssuer::issuerUri);
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", jwtIssuer::jwkSetUri);
+    }
+
+    @AfterAll
+    static void stopIssuer() {
+        jwtIssuer.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ConcurrentLinkedQueue<Long> patchableBookings = new ConcurrentLinkedQueue<>();
+
+    private List<Long> roomIds;
+    private List<String> guestTokens;
+    private String adminToken;
+
+    @Test
+    @DisplayName("Should serve the booking and availability mix without server errors")
+    void bookingMixUnderLoad() throws Exception {
+        seed();
+        Duration tokenValidity = WARMUP.plus(DURATION).plusMinutes(5);
+        guestTokens = new ArrayList<>();
+        for (int guest = 0; guest < GUESTS; guest++) {
+            guestTokens.add(jwtIssuer.token("guest-" + guest, tokenValidity, "USER"));
+        }
+        adminToken = jwtIssuer.token("front-desk", tokenValidity, "ADMIN");
+
+        log.info("Load test warm-up: {} users for {}", USERS, WARMUP);
+        run(new LatencyReport(), WARMUP);
+        log.info("Load test measurement: {} users for {}", USERS, DURATION);
+        LatencyReport report = new LatencyReport();
+        long elapsed = run(report, DURATION);
+
+        List<LatencyReport.EndpointStats> stats = report.summarize(elapsed);
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", USERS);
+        settings.put("warmup", WARMUP.toString());
+        settings.put("duration", DURATION.toString());
+        settings.put("rooms", ROOMS);
+        settings.put("seededBookings", SEEDED_BOOKINGS);
+        LatencyReport.write(stats, settings, REPORT);
+        log.info("Load test results, written to {}:{}", REPORT, LatencyReport.format(stats));
+
+        assertThat(stats).extracting(LatencyReport.EndpointStats::endpoint).containsExactlyInAnyOrder(
+                "GET /bookings", "GET /bookings/me", "PATCH /bookings/{id}", "POST /bookings/create",
+                "POST /rooms/available-room", "POST /rooms/available-rooms");
+        assertThat(stats).allSatisfy(row -> assertThat(row.errors())
+                .as("server errors on %s", row.endpoint())
+                .isZero());
+    }
+
+    /**
+     * Run the closed-loop client for a duration and return the elapsed time in nanoseconds
+     */
+    private long run(LatencyReport report, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(USERS);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try {
+            List<Future<?>> users = new ArrayList<>();
+            for (int user = 0; user < USERS; user++) {
+                users.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        nextRequest(report);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> user : users) {
+                user.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * One request from the traffic mix: mostly availability reads, then booking lists, creates and status changes
+     */
+    private void nextRequest(LatencyReport report) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = guestTokens.get(random.nextInt(guestTokens.size()));
+        int pick = random.nextInt(100);
+        if (pick < 35) {
+            Map<String, Object> body = stay(random);
+            body.put("size", 20);
+            send(report, "POST /rooms/available-rooms", post("/api/v1/rooms/available-rooms", null, body));
+        } else if (pick < 55) {
+            send(report, "POST /rooms/available-room", post("/api/v1/rooms/available-room", null, stay(random)));
+        } else if (pick < 70) {
+            send(report, "GET /bookings/me", get("/api/v1/bookings/me", token));
+        } else if (pick < 80) {
+            send(report, "GET /bookings",
+                    get("/api/v1/bookings?keyset=true&size=20&sort=checkedInDate&direction=desc", token));
+        } else if (pick < 92) {
+            createBooking(report, token, random);
+        } else {
+            Long bookingId = patchableBookings.poll();
+            if (bookingId == null) {
+                createBooking(report, token, random);
+                return;
+            }
+            Map<String, Object> body = Map.of("bookingStatus", random.nextInt(4) == 0 ? "CANCELED" : "CHECKED_IN");
+            send(report, "PATCH /bookings/{id}", HttpRequest.newBuilder(uri("/api/v1/bookings/" + bookingId))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build());
+        }
+    }
+
+    private void createBooking(LatencyReport report, String token, ThreadLocalRandom random) throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(180));
+        Map<String, Object> body = new HashMap<>();
+        body.put("FirstName", "Load");
+        body.put("LastName", "Guest" + random.nextInt(1000));
+        body.put("checkedInDate", checkIn.toString());
+        body.put("checkedOutDate", checkIn.plusDays(1 + random.nextInt(5)).toString());
+        body.put("adultCapacity", 1 + random.nextInt(2));
+        body.put("childrenCapacity", 0);
+        body.put("roomId", roomIds.get(random.nextInt(roomIds.size())));
+        HttpResponse<byte[]> response = send(report, "POST /bookings/create",
+                post("/api/v1/bookings/create", token, body));
+        if (response != null && response.statusCode() == 201) {
+            JsonNode id = objectMapper.readTree(response.body()).path("data").path("id");
+            if (id.canConvertToLong()) {
+                patchableBookings.add(id.asLong());
+            }
+        }
+    }
+
+    // Most searches target the next two weeks, as real demand does
+    private Map<String, Object> stay(ThreadLocalRandom random) {
+        int offset = random.nextInt(10) < 8 ? 1 + random.nextInt(HOT_CHECK_IN_DAYS) : 1 + random.nextInt(180);
+        LocalDate checkIn = LocalDate.now().plusDays(offset);
+        Map<String, Object> body = new HashMap<>();
+        body.put("numberOfAdults", 1 + random.nextInt(3));
+        body.put("numberOfChildren", random.nextInt(2));
+        body.put("checkInDate", checkIn.toString());
+        body.put("checkOutDate", checkIn.plusDays(1 + random.nextInt(4)).toString());
+        return body;
+    }
+
+    private HttpResponse<byte[]> send(LatencyReport report, String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            report.record(endpoint, response.statusCode(), System.nanoTime() - start);
+            if (response.statusCode() >= 500) {
+                log.warn("{} returned {}: {}", endpoint, response.statusCode(), new String(response.body()));
+            }
+            return response;
+        } catch (Exception e) {
+            report.record(endpoint, 0, System.nanoTime() - start);
+            log.warn("{} failed: {}", endpoint, e.getMessage());
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, Map<String, Object> body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void seed() {
+        List<Map<String, Object>> rooms = new ArrayList<>();
+        for (int r = 1; r <= ROOMS; r++) {
+            rooms.add(Map.of(
+                    "roomNumber", 20000 + r,
+                    "roomPrice", BigDecimal.valueOf(80 + (r * 37) % 400),
+                    "adultCapacity", 1 + r % 4,
+                    "childrenCapacity", r % 3));
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO rooms (room_number, room_price, adult_capacity, children_capacity, is_available)
+                VALUES (:roomNumber, :roomPrice, :adultCapacity, :childrenCapacity, true)
+                """, rooms.toArray(Map[]::new));
+        roomIds = jdbcTemplate.getJdbcTemplate().queryForList("SELECT id FROM rooms", Long.class);
+
+        // Past stays plus a share of upcoming ones, spread over the guests so their booking lists are not empty
+        LocalDate today = LocalDate.now();
+        List<Map<String, Object>> bookings = new ArrayList<>();
+        for (int b = 0; b < SEEDED_BOOKINGS; b++) {
+            boolean upcoming = b % 5 == 0;
+            LocalDate checkIn = upcoming ? today.plusDays(1 + (b / roomIds.size()) * 6L) : today.minusDays(30 + b % 500);
+            Map<String, Object> row = new HashMap<>();
+            row.put("firstName", "Guest" + b % 97);
+            row.put("lastName", "Family" + b % 503);
+            row.put("checkIn", checkIn);
+            row.put("checkOut", checkIn.plusDays(1 + b % 4));
+            row.put("roomId", roomIds.get(b % roomIds.size()));
+            row.put("status", upcoming ? "BOOKED" : "CHECKED_OUT");
+            row.put("userId", "guest-" + b % GUESTS);
+            bookings.add(row);
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO bookings (first_name, last_name, checked_in_date, checked_out_date, adult_capacity,
+                                      children_capacity, room_id, booking_status, user_id)
+                VALUES (:firstName, :lastName, :checkIn, :checkOut, 2, 0, :roomId, :status, :userId)
+                """, bookings.toArray(Map[]::new));
+        patchableBookings.addAll(jdbcTemplate.getJdbcTemplate()
+                .queryForList("SELECT id FROM bookings WHERE booking_status = 'BOOKED'", Long.class));
+
+        // The rows were written behind the application's back, so drop what startup loaded before them
+        roomAvailabilityIndex.rebuild();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+}
@@ -0,0 +1,94 @@
+package com.fadhliazhar.booking_hotel.load;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Local stand-in for the OAuth2 authorization server: serves a JWK set over HTTP for the resource server's
+ * JWK Set URI and signs RS256 access tokens with the matching private key
+ */
+final class JwtIssuerStub implements AutoCloseable {
+    private static final String ISSUER = "http://localhost/load-test-issuer";
+
+    private final RSAKey signingKey;
+    private final HttpServer server;
+
+    private JwtIssuerStub(RSAKey signingKey, HttpServer server) {
+        this.signingKey = signingKey;
+        this.server = server;
+    }
+
+    static JwtIssuerStub start() {
+        try {
+            RSAKey signingKey = new RSAKeyGenerator(2048).keyID("load-test").keyUse(KeyUse.SIGNATURE).generate();
+            byte[] jwks = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/jwks", exchange -> {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, jwks.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(jwks);
+                }
+            });
+            server.start();
+            return new JwtIssuerStub(signingKey, server);
+        } catch (JOSEException | IOException e) {
+            throw new IllegalStateException("Could not start the JWT issuer stub", e);
+        }
+    }
+
+    String jwkSetUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/jwks";
+    }
+
+    String issuerUri() {
+        return ISSUER;
+    }
+
+    /**
+     * Sign an access token for a subject with the given roles, valid for the given time
+     */
+    String token(String subject, Duration validity, String... roles) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(subject)
+                .claim("preferred_username", subject)
+                .claim("roles", List.of(roles))
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(validity)))
+                .build();
+        try {
+            SignedJWT jwt = new SignedJWT(
+                    new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+            jwt.sign(new RSASSASigner(signingKey));
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not sign access token", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
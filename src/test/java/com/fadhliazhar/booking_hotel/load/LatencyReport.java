@@ -0,0 +1,98 @@
+package com.fadhliazhar.booking_hotel.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency and outcome recorder for a load run, reporting throughput and exact percentiles
+ */
+final class LatencyReport {
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    void record(String endpoint, int status, long nanos) {
+        Recorder recorder = recorders.computeIfAbsent(endpoint, name -> new Recorder());
+        recorder.latencies.add(nanos);
+        if (status >= 500 || status <= 0) {
+            recorder.errors.increment();
+        } else if (status >= 400) {
+            recorder.rejected.increment();
+        }
+    }
+
+    /**
+     * Summaries per endpoint, in name order, for a measurement window of the given length
+     */
+    List<EndpointStats> summarize(long windowNanos) {
+        double seconds = windowNanos / 1e9;
+        List<EndpointStats> stats = new ArrayList<>();
+        recorders.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            long[] sorted = entry.getValue().latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            stats.add(new EndpointStats(
+                    entry.getKey(),
+                    sorted.length,
+                    entry.getValue().rejected.sum(),
+                    entry.getValue().errors.sum(),
+                    sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+        });
+        return stats;
+    }
+
+    static String format(List<EndpointStats> stats) {
+        StringBuilder table = new StringBuilder(String.format("%n%-28s %8s %8s %6s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "rejected", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+        for (EndpointStats row : stats) {
+            table.append(String.format("%-28s %8d %8d %6d %9.1f %9.2f %9.2f %9.2f%n", row.endpoint(), row.requests(),
+                    row.rejected(), row.errors(), row.requestsPerSecond(), row.p50Millis(), row.p99Millis(),
+                    row.maxMillis()));
+        }
+        return table.toString();
+    }
+
+    static void write(List<EndpointStats> stats, Map<String, Object> settings, Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("endpoints", stats);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    record EndpointStats(String endpoint, long requests, long rejected, long errors, double requestsPerSecond,
+                         double p50Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static final class Recorder {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
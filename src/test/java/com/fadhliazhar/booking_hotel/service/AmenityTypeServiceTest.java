@@ -0,0 +1,96 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.dto.amenity_type.AmenityTypeRequestDTO;
+import com.fadhliazhar.booking_hotel.dto.amenity_type.AmenityTypeResponseDTO;
+import com.fadhliazhar.booking_hotel.exception.ResourceNotFoundException;
+import com.fadhliazhar.booking_hotel.model.AmenityType;
+import com.fadhliazhar.booking_hotel.repository.AmenityTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.AMENITY_TYPES_CACHE;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the amenity type catalog served from its cached snapshot
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AmenityTypeService Tests")
+class AmenityTypeServiceTest {
+
+    @Mock
+    private AmenityTypeRepository amenityTypeRepository;
+
+    private AmenityTypeService amenityTypeService;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(AMENITY_TYPES_CACHE);
+        amenityTypeService = new AmenityTypeService(amenityTypeRepository, new CatalogCache(cacheManager));
+    }
+
+    @Test
+    @DisplayName("Should serve every read from one snapshot loaded once")
+    void shouldServeReadsFromSnapshot() {
+        when(amenityTypeRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(amenityType(2L, "wifi", true), amenityType(1L, "Balcony", false)));
+
+        assertThat(amenityTypeService.getAll()).extracting(AmenityTypeResponseDTO::getName)
+                .containsExactly("Balcony", "wifi");
+        assertThat(amenityTypeService.getAllActive()).extracting(AmenityTypeResponseDTO::getId)
+                .containsExactly(2L);
+        assertThat(amenityTypeService.getById(1L).getName()).isEqualTo("Balcony");
+        assertThatThrownBy(() -> amenityTypeService.getById(3L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Amenity type with ID 3 not found.");
+
+        verify(amenityTypeRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    @DisplayName("Should evict the snapshot on update and rebuild it on the next read")
+    void shouldRebuildSnapshotAfterUpdate() {
+        List<AmenityType> rows = new ArrayList<>(List.of(amenityType(1L, "Balcony", true)));
+        when(amenityTypeRepository.findAll(any(Sort.class))).thenAnswer(invocation -> List.copyOf(rows));
+        AmenityType stored = amenityType(1L, "Balcony", true);
+        when(amenityTypeRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(amenityTypeRepository.existsByName("Sea view balcony")).thenReturn(false);
+        when(amenityTypeRepository.save(stored)).thenAnswer(invocation -> {
+            rows.set(0, stored);
+            return stored;
+        });
+        var before = amenityTypeService.catalog();
+
+        AmenityTypeRequestDTO request = new AmenityTypeRequestDTO();
+        request.setName("Sea view balcony");
+        request.setIsActive(false);
+        amenityTypeService.update(1L, request);
+        verify(amenityTypeRepository, times(1)).findAll(any(Sort.class));
+
+        assertThat(amenityTypeService.catalog()).isNotSameAs(before);
+        assertThat(amenityTypeService.getById(1L).getName()).isEqualTo("Sea view balcony");
+        assertThat(amenityTypeService.getAllActive()).isEmpty();
+        assertThat(before.findById(1L)).get().extracting(AmenityTypeResponseDTO::getName).isEqualTo("Balcony");
+        verify(amenityTypeRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    private AmenityType amenityType(Long id, String name, boolean active) {
+        AmenityType amenityType = new AmenityType();
+        amenityType.setId(id);
+        amenityType.setName(name);
+        amenityType.setIsActive(active);
+        return amenityType;
+    }
+}
@@ -0,0 +1,121 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.config.CacheConfig;
+import com.fadhliazhar.booking_hotel.config.JacksonConfig;
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityRequestDTO;
+import com.fadhliazhar.booking_hotel.util.CachedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the date-bucketed availability cache keys
+ */
+@DisplayName("AvailabilityCache Tests")
+class AvailabilityCacheTest {
+
+    // A Monday, so weekly buckets start on known dates
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private AvailabilityCache availabilityCache;
+
+    @BeforeEach
+    void setUp() {
+        availabilityCache = new AvailabilityCache(new ConcurrentMapCacheManager(
+                CacheConfig.AVAILABILITY_VERSIONS_CACHE, CacheConfig.AVAILABLE_ROOM_RESPONSES_CACHE));
+    }
+
+    @Test
+    @DisplayName("Should keep the same key until an overlapping stay is evicted")
+    void shouldChangeKeyOnlyForOverlappingStays() {
+        RoomAvailabilityRequestDTO request = request(MONDAY.plusDays(2), MONDAY.plusDays(4));
+        String key = availabilityCache.keyFor(request);
+        assertThat(availabilityCache.keyFor(request)).isEqualTo(key);
+
+        // Stay in the following week: different bucket
+        availabilityCache.evictOverlapping(MONDAY.plusDays(8), MONDAY.plusDays(10));
+        assertThat(availabilityCache.keyFor(request)).isEqualTo(key);
+
+        // Check-out on the first night of the next week: last night stays in the earlier bucket
+        availabilityCache.evictOverlapping(MONDAY.minusDays(3), MONDAY);
+        assertThat(availabilityCache.keyFor(request)).isEqualTo(key);
+
+        availabilityCache.evictOverlapping(MONDAY.plusDays(3), MONDAY.plusDays(9));
+        assertThat(availabilityCache.keyFor(request)).isNotEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("Should invalidate every entry when the room catalog changes")
+    void shouldChangeKeyWhenRoomsChange() {
+        RoomAvailabilityRequestDTO request = request(MONDAY, MONDAY.plusDays(1));
+        String key = availabilityCache.keyFor(request);
+
+        availabilityCache.evictAllRooms();
+
+        assertThat(availabilityCache.keyFor(request)).isNotEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("Should load once per key and reload after an overlapping eviction")
+    void shouldLoadOncePerKey() {
+        RoomAvailabilityRequestDTO request = request(MONDAY, MONDAY.plusDays(2));
+        AtomicInteger loads = new AtomicInteger();
+
+        CachedResponse first = availabilityCache.getResponse(request, () -> room(loads.incrementAndGet()));
+        CachedResponse second = availabilityCache.getResponse(request, () -> room(loads.incrementAndGet()));
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.data(), StandardCharsets.UTF_8)).isEqualTo("\"room-1\"");
+
+        availabilityCache.evictOverlapping(MONDAY.plusDays(1), MONDAY.plusDays(2));
+        CachedResponse reloaded = availabilityCache.getResponse(request, () -> room(loads.incrementAndGet()));
+        assertThat(new String(reloaded.data(), StandardCharsets.UTF_8)).isEqualTo("\"room-2\"");
+        assertThat(reloaded.etag()).isNotEqualTo(first.etag());
+    }
+
+    @Test
+    @DisplayName("Should derive the ETag from the room data only")
+    void shouldDeriveEtagFromDataOnly() {
+        CachedResponse first = room(1);
+        CachedResponse second = room(1);
+
+        assertThat(second.etag()).isEqualTo(first.etag());
+        assertThat(room(2).etag()).isNotEqualTo(first.etag());
+        assertThat(first.matches(first.etag())).isTrue();
+        assertThat(first.matches("\"other\", W/" + first.etag())).isTrue();
+        assertThat(first.matches("\"other\"")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache for long stays")
+    void shouldBypassCacheForLongStays() {
+        RoomAvailabilityRequestDTO request = request(MONDAY, MONDAY.plusWeeks(AvailabilityCache.MAX_CACHED_BUCKETS + 1));
+        AtomicInteger loads = new AtomicInteger();
+
+        availabilityCache.getResponse(request, () -> room(loads.incrementAndGet()));
+        availabilityCache.getResponse(request, () -> room(loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private CachedResponse room(int number) {
+        return CachedResponse.of(objectMapper, "room-" + number);
+    }
+
+    private RoomAvailabilityRequestDTO request(LocalDate checkIn, LocalDate checkOut) {
+        RoomAvailabilityRequestDTO request = new RoomAvailabilityRequestDTO();
+        request.setNumberOfAdults(2);
+        request.setNumberOfChildren(0);
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkOut);
+        return request;
+    }
+}
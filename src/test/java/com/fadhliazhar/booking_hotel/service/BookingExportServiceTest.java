@@ -0,0 +1,145 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.config.JacksonConfig;
+import com.fadhliazhar.booking_hotel.dto.booking.BookingExportFormat;
+import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
+import com.fadhliazhar.booking_hotel.mapper.BookingMapper;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
+import com.fadhliazhar.booking_hotel.security.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the streaming booking export
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingExportService Tests")
+class BookingExportServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    private BookingExportService bookingExportService;
+
+    private final LocalDate from = LocalDate.of(2024, 1, 1);
+    private final LocalDate to = LocalDate.of(2024, 2, 1);
+
+    @BeforeEach
+    void setUp() {
+        bookingExportService = new BookingExportService(bookingRepository, bookingMapper, new JacksonConfig().objectMapper());
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line and close the stream")
+    void shouldWriteNdjson() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        stubRows(closed, booking(1L, "John", "Doe"), booking(2L, "Jane", "Smith"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = bookingExportService.export(from, to, BookingStatus.BOOKED, BookingExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":1,").contains("\"checkedInDate\":\"2024-01-15\"");
+        assertThat(lines[1]).startsWith("{\"id\":2,").contains("\"lastName\":\"Smith\"");
+        assertThat(closed).isTrue();
+        verify(bookingRepository).streamSummaries(from, to, BookingStatus.BOOKED);
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and escape values")
+    void shouldWriteCsv() throws Exception {
+        stubRows(new AtomicBoolean(), booking(1L, "John", "Doe, \"Jr\""));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = bookingExportService.export(null, null, null, BookingExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(1);
+        assertThat(lines[0]).startsWith("id,firstName,lastName,checkedInDate");
+        assertThat(lines[1]).isEqualTo("1,John,\"Doe, \"\"Jr\"\"\",2024-01-15,2024-01-17,2,0,2,5,101,BOOKED");
+    }
+
+    @Test
+    @DisplayName("Should neutralize guest names that a spreadsheet would evaluate as formulas")
+    void shouldNeutralizeFormulasInCsv() throws Exception {
+        stubRows(new AtomicBoolean(), booking(1L, "=HYPERLINK(\"http://x\",\"y\")", "@SUM(A1)"),
+                booking(2L, "+1", "-2"), booking(3L, "\tTab", "O'Brien"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingExportService.export(null, null, null, BookingExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[1]).startsWith("1,\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",'@SUM(A1),");
+        assertThat(lines[2]).startsWith("2,'+1,'-2,");
+        assertThat(lines[3]).startsWith("3,'\tTab,O'Brien,");
+    }
+
+    @Test
+    @DisplayName("Should reject non-admin users and empty date ranges")
+    void shouldValidateExportRequest() {
+        try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
+            mockedSecurityUtils.when(() -> SecurityUtils.hasRole("ADMIN")).thenReturn(false);
+            assertThatThrownBy(() -> bookingExportService.validateExportRequest(from, to))
+                .isInstanceOf(AccessDeniedException.class);
+
+            mockedSecurityUtils.when(() -> SecurityUtils.hasRole("ADMIN")).thenReturn(true);
+            assertThatThrownBy(() -> bookingExportService.validateExportRequest(to, from))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("'to' date must be after 'from' date");
+            assertThatCode(() -> bookingExportService.validateExportRequest(from, to)).doesNotThrowAnyException();
+        }
+    }
+
+    private void stubRows(AtomicBoolean closed, BookingResponseDTO... bookings) {
+        Stream<BookingSummaryProjection> rows = Stream.of(bookings)
+                .map(dto -> {
+                    BookingSummaryProjection row = mock(BookingSummaryProjection.class);
+                    when(bookingMapper.toResponseDTO(row)).thenReturn(dto);
+                    return row;
+                })
+                .toList()
+                .stream()
+                .onClose(() -> closed.set(true));
+        when(bookingRepository.streamSummaries(any(), any(), any())).thenReturn(rows);
+    }
+
+    private BookingResponseDTO booking(Long id, String firstName, String lastName) {
+        BookingResponseDTO dto = new BookingResponseDTO();
+        dto.setId(id);
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        dto.setCheckedInDate(LocalDate.of(2024, 1, 15));
+        dto.setCheckedOutDate(LocalDate.of(2024, 1, 17));
+        dto.setAdultCapacity(2);
+        dto.setChildrenCapacity(0);
+        dto.setNight(2);
+        dto.setRoomId(5L);
+        dto.setRoomNumber(101);
+        dto.setBookingStatus(BookingStatus.BOOKED);
+        return dto;
+    }
+}
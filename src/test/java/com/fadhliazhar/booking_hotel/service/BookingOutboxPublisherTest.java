@@ -0,0 +1,106 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.model.BookingEventType;
+import com.fadhliazhar.booking_hotel.model.BookingOutboxEvent;
+import com.fadhliazhar.booking_hotel.repository.BookingOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for draining the booking event outbox to the event sink
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingOutboxPublisher Tests")
+class BookingOutboxPublisherTest {
+
+    @Mock
+    private BookingOutboxRepository outboxRepository;
+
+    @Mock
+    private BookingEventSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingOutboxPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new BookingOutboxPublisher(outboxRepository, sink, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(publisher, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should publish full batches until a short one and mark each published in its own transaction")
+    void shouldDrainInBatches() {
+        List<BookingOutboxEvent> first = List.of(event(1L), event(2L));
+        List<BookingOutboxEvent> second = List.of(event(3L));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(outboxRepository.lockUnpublishedBatch(2)).thenReturn(first, second);
+
+        assertThat(publisher.drain()).isEqualTo(3);
+
+        verify(sink).publish(first);
+        verify(sink).publish(second);
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(outboxRepository).markPublished(eq(List.of(3L)), any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                definition.getIsolationLevel() == TransactionDefinition.ISOLATION_READ_COMMITTED));
+        assertThat(meterRegistry.get("booking.outbox.published").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should leave the batch unpublished and roll back when the sink fails")
+    void shouldRollBackWhenSinkFails() {
+        List<BookingOutboxEvent> batch = List.of(event(1L));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(outboxRepository.lockUnpublishedBatch(2)).thenReturn(batch);
+        doThrow(new RedisConnectionFailureException("down")).when(sink).publish(batch);
+
+        assertThatThrownBy(() -> publisher.drain()).isInstanceOf(RedisConnectionFailureException.class);
+
+        verify(outboxRepository, never()).markPublished(any(), any());
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.get("booking.outbox.published").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not fail the booking commit when woken up while the publisher shuts down")
+    void shouldIgnoreWakeUpWhileShuttingDown() {
+        ExecutorService stopped = Executors.newSingleThreadScheduledExecutor();
+        stopped.shutdown();
+        ReflectionTestUtils.setField(publisher, "executor", stopped);
+        ReflectionTestUtils.setField(publisher, "running", true);
+
+        assertThatCode(() -> publisher.wakeUp()).doesNotThrowAnyException();
+        assertThatCode(() -> publisher.wakeUp()).doesNotThrowAnyException();
+        verifyNoInteractions(outboxRepository);
+    }
+
+    private BookingOutboxEvent event(Long id) {
+        BookingOutboxEvent event = new BookingOutboxEvent(10L + id, BookingEventType.BOOKING_CREATED, "{}");
+        event.setId(id);
+        return event;
+    }
+}
@@ -1,5 +1,6 @@
 package com.fadhliazhar.booking_hotel.service;
 
+import com.fadhliazhar.booking_hotel.config.CacheConfig.CacheMonitor;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
 import com.fadhliazhar.booking_hotel.dto.booking.BookingStatusUpdateDTO;
@@ -9,21 +10,31 @@ import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
 import com.fadhliazhar.booking_hotel.exception.ResourceNotFoundException;
 import com.fadhliazhar.booking_hotel.mapper.BookingMapper;
 import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingEventType;
 import com.fadhliazhar.booking_hotel.model.BookingStatus;
 import com.fadhliazhar.booking_hotel.model.Room;
 import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.repository.BookingSearchCriteria;
+import com.fadhliazhar.booking_hotel.repository.BookingKeysetSort;
 import com.fadhliazhar.booking_hotel.repository.RoomRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryRow;
 import com.fadhliazhar.booking_hotel.security.SecurityUtils;
+import com.fadhliazhar.booking_hotel.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -33,6 +44,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.*;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -55,6 +67,22 @@ class BookingServiceTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private AvailabilityCache availabilityCache;
+
+    @Mock
+    private CacheMonitor cacheMonitor;
+
+    @Spy
+    private BookingDetailsCache bookingDetailsCache =
+        new BookingDetailsCache(new ConcurrentMapCacheManager(BOOKING_DETAILS_CACHE));
+
+    @Mock
+    private BookingEventOutbox bookingEventOutbox;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -120,11 +148,12 @@ class BookingServiceTest {
         pageRequest.setSort("id");
         pageRequest.setDirection("desc");
 
-        Page<Booking> mockPage = new PageImpl<>(List.of(testBooking), 
+        BookingSummaryProjection summary = mock(BookingSummaryProjection.class);
+        Page<BookingSummaryProjection> mockPage = new PageImpl<>(List.of(summary), 
             Pageable.ofSize(10), 1);
         
-        when(bookingRepository.findAllWithSearch(any(), any())).thenReturn(mockPage);
-        when(bookingMapper.toResponseDTO(testBooking)).thenReturn(bookingResponseDTO);
+        when(bookingRepository.searchSummaries(any(), any())).thenReturn(mockPage);
+        when(bookingMapper.toResponseDTO(summary)).thenReturn(bookingResponseDTO);
 
         // When
         PageResponseDTO<BookingResponseDTO> result = bookingService.getAll(pageRequest);
@@ -135,8 +164,155 @@ class BookingServiceTest {
         assertThat(result.getContent().get(0).getId()).isEqualTo(1L);
         assertThat(result.getTotalElements()).isEqualTo(1L);
         
-        verify(bookingRepository).findAllWithSearch(any(), any());
-        verify(bookingMapper).toResponseDTO(testBooking);
+        verify(bookingRepository).searchSummaries(any(), any());
+        verify(bookingMapper).toResponseDTO(summary);
+    }
+
+    @Test
+    @DisplayName("Should route search terms to typed exact-match or full-text criteria")
+    void shouldRouteSearchTermsToTypedCriteria() {
+        // Given
+        when(bookingRepository.searchSummaries(any(), any())).thenReturn(Page.empty());
+        ArgumentCaptor<BookingSearchCriteria> captor = ArgumentCaptor.forClass(BookingSearchCriteria.class);
+
+        // When
+        for (String search : List.of("42", "checked_in", "  O'Brien +John*  ", "a")) {
+            PageRequestDTO pageRequest = new PageRequestDTO();
+            pageRequest.setSearch(search);
+            bookingService.getAll(pageRequest);
+        }
+
+        // Then
+        verify(bookingRepository, times(4)).searchSummaries(captor.capture(), any());
+        assertThat(captor.getAllValues()).containsExactly(
+            new BookingSearchCriteria(BookingSearchCriteria.Mode.ID, 42L, null, null),
+            new BookingSearchCriteria(BookingSearchCriteria.Mode.STATUS, null, BookingStatus.CHECKED_IN, null),
+            new BookingSearchCriteria(BookingSearchCriteria.Mode.GUEST_NAME, null, null, "+Brien +John"),
+            new BookingSearchCriteria(BookingSearchCriteria.Mode.NO_MATCH, null, null, null)
+        );
+    }
+
+    @Test
+    @DisplayName("Should return a slice with next cursor in keyset mode")
+    void shouldGetFirstKeysetPage() {
+        // Given
+        PageRequestDTO pageRequest = new PageRequestDTO();
+        pageRequest.setSize(2);
+        pageRequest.setSort("checkedInDate");
+        pageRequest.setDirection("asc");
+        pageRequest.setKeyset(true);
+
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        List<BookingSummaryProjection> rows = List.of(summaryRow(1L, checkIn), summaryRow(2L, checkIn), summaryRow(3L, checkIn));
+        when(bookingRepository.findSummariesAfter(BookingSearchCriteria.parse(null), BookingKeysetSort.CHECKED_IN_DATE, true, null, null, 3))
+            .thenReturn(rows);
+        when(bookingMapper.toResponseDTO(any(BookingSummaryProjection.class))).thenReturn(bookingResponseDTO);
+
+        // When
+        PageResponseDTO<BookingResponseDTO> result = bookingService.getAll(pageRequest);
+
+        // Then
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(result.isFirst()).isTrue();
+        assertThat(result.isLast()).isFalse();
+        assertThat(CursorUtil.decode(result.getNextCursor(), 4))
+            .containsExactly("checkedInDate", "asc", "2", checkIn.toString());
+        verify(bookingRepository, never()).searchSummaries(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor position in keyset mode")
+    void shouldGetNextKeysetPage() {
+        // Given
+        PageRequestDTO pageRequest = new PageRequestDTO();
+        pageRequest.setSize(2);
+        pageRequest.setSort("lastName");
+        pageRequest.setDirection("desc");
+        pageRequest.setCursor(CursorUtil.encode("lastName", "desc", 7L, "O|Brien"));
+
+        when(bookingRepository.findSummariesAfter(BookingSearchCriteria.parse(null), BookingKeysetSort.LAST_NAME, false, "O|Brien", 7L, 3))
+            .thenReturn(List.of(summaryRow(5L, LocalDate.now())));
+        when(bookingMapper.toResponseDTO(any(BookingSummaryProjection.class))).thenReturn(bookingResponseDTO);
+
+        // When
+        PageResponseDTO<BookingResponseDTO> result = bookingService.getAll(pageRequest);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isFirst()).isFalse();
+        assertThat(result.isLast()).isTrue();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for a different sort")
+    void shouldRejectCursorForDifferentSort() {
+        PageRequestDTO pageRequest = new PageRequestDTO();
+        pageRequest.setSort("id");
+        pageRequest.setCursor(CursorUtil.encode("lastName", "asc", 7L, "Doe"));
+
+        assertThatThrownBy(() -> bookingService.getAll(pageRequest))
+            .isInstanceOf(BusinessValidationException.class)
+            .hasMessageContaining("does not match");
+    }
+
+    @Test
+    @DisplayName("Should reject out-of-range page sizes and unindexed sorts in keyset mode")
+    void shouldValidateKeysetPaging() {
+        for (int size : new int[]{0, -1, 101}) {
+            PageRequestDTO pageRequest = new PageRequestDTO();
+            pageRequest.setSize(size);
+            pageRequest.setKeyset(true);
+
+            assertThatThrownBy(() -> bookingService.getAll(pageRequest))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("Page size");
+        }
+
+        PageRequestDTO pageRequest = new PageRequestDTO();
+        pageRequest.setSort("roomNumber");
+        pageRequest.setKeyset(true);
+        assertThatThrownBy(() -> bookingService.getAll(pageRequest))
+            .isInstanceOf(BusinessValidationException.class)
+            .hasMessageContaining("not supported in cursor mode");
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    @DisplayName("Should page a user's bookings newest first by id")
+    void shouldGetUserBookingsByKeyset() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        when(bookingRepository.findSummariesByUserIdBefore("user123", Long.MAX_VALUE, PageRequest.of(0, 3)))
+            .thenReturn(List.of(summaryRow(9L, checkIn), summaryRow(8L, checkIn), summaryRow(4L, checkIn)));
+        when(bookingRepository.findSummariesByUserIdBefore("user123", 8L, PageRequest.of(0, 3)))
+            .thenReturn(List.of(summaryRow(4L, checkIn)));
+        when(bookingMapper.toResponseDTO(any(BookingSummaryProjection.class))).thenReturn(bookingResponseDTO);
+
+        // When
+        PageResponseDTO<BookingResponseDTO> firstPage = bookingService.getByUserId("user123", null, 2);
+        PageResponseDTO<BookingResponseDTO> nextPage = bookingService.getByUserId("user123", firstPage.getNextCursor(), 2);
+
+        // Then
+        assertThat(firstPage.getContent()).hasSize(2);
+        assertThat(firstPage.isFirst()).isTrue();
+        assertThat(CursorUtil.decode(firstPage.getNextCursor(), 3)).containsExactly("id", "desc", "8");
+        assertThat(nextPage.getContent()).hasSize(1);
+        assertThat(nextPage.isLast()).isTrue();
+        assertThat(nextPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject out-of-range page sizes and foreign cursors for user bookings")
+    void shouldValidateUserBookingsPaging() {
+        assertThatThrownBy(() -> bookingService.getByUserId("user123", null, 101))
+            .isInstanceOf(BusinessValidationException.class)
+            .hasMessageContaining("Page size");
+        assertThatThrownBy(() -> bookingService.getByUserId("user123", CursorUtil.encode("lastName", "desc", 7L), 20))
+            .isInstanceOf(BusinessValidationException.class)
+            .hasMessageContaining("does not match");
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -144,7 +320,7 @@ class BookingServiceTest {
     void shouldGetBookingByIdSuccessfully() {
         // Given
         Long bookingId = 1L;
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.findWithRoomById(bookingId)).thenReturn(Optional.of(testBooking));
         when(bookingMapper.toResponseDTO(testBooking)).thenReturn(bookingResponseDTO);
 
         try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
@@ -167,7 +343,7 @@ class BookingServiceTest {
     void shouldThrowResourceNotFoundExceptionWhenBookingNotFound() {
         // Given
         Long bookingId = 999L;
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+        when(bookingRepository.findWithRoomById(bookingId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> bookingService.getById(bookingId))
@@ -180,7 +356,7 @@ class BookingServiceTest {
     void shouldThrowBusinessValidationExceptionWhenAccessingOthersBooking() {
         // Given
         Long bookingId = 1L;
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.findWithRoomById(bookingId)).thenReturn(Optional.of(testBooking));
 
         try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
             mockedSecurityUtils.when(SecurityUtils::isAuthenticated).thenReturn(true);
@@ -194,13 +370,39 @@ class BookingServiceTest {
         }
     }
 
+    @Test
+    @DisplayName("Should check access on every call when the booking detail is served from cache")
+    void shouldCheckAccessOnCachedBookingDetail() {
+        // Given
+        Long bookingId = 1L;
+        when(bookingRepository.findWithRoomById(bookingId)).thenReturn(Optional.of(testBooking));
+        when(bookingMapper.toResponseDTO(testBooking)).thenReturn(bookingResponseDTO);
+
+        try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
+            mockedSecurityUtils.when(SecurityUtils::isAuthenticated).thenReturn(true);
+            mockedSecurityUtils.when(() -> SecurityUtils.hasRole("ADMIN")).thenReturn(false);
+            mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(Optional.of("user123"));
+            bookingService.getById(bookingId);
+
+            // When & Then
+            mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(Optional.of("differentUser"));
+            assertThatThrownBy(() -> bookingService.getById(bookingId))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("Access denied");
+
+            mockedSecurityUtils.when(() -> SecurityUtils.hasRole("ADMIN")).thenReturn(true);
+            assertThat(bookingService.getById(bookingId)).isSameAs(bookingResponseDTO);
+            verify(bookingRepository, times(1)).findWithRoomById(bookingId);
+        }
+    }
+
     @Test
     @DisplayName("Should create booking successfully")
     void shouldCreateBookingSuccessfully() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-        when(roomRepository.findOneAvailableRoom(any(), any(), any(), any()))
-            .thenReturn(Optional.of(testRoom));
+        when(roomRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testRoom));
+        when(bookingRepository.existsOverlappingBooking(1L, bookingRequestDTO.getCheckedInDate(),
+            bookingRequestDTO.getCheckedOutDate())).thenReturn(false);
         when(bookingMapper.toEntity(bookingRequestDTO)).thenReturn(testBooking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
         when(bookingMapper.toResponseDTO(testBooking)).thenReturn(bookingResponseDTO);
@@ -217,6 +419,11 @@ class BookingServiceTest {
             assertThat(result.getLastName()).isEqualTo("Doe");
             
             verify(bookingRepository).save(any(Booking.class));
+            verify(cacheMonitor).evictCacheEntry(BOOKING_DETAILS_CACHE, 1L);
+            verify(cacheMonitor).evictCacheEntry(USER_BOOKINGS_CACHE, "user123");
+            verify(availabilityCache).evictOverlapping(testBooking.getCheckedInDate(), testBooking.getCheckedOutDate());
+            verify(cacheMonitor, never()).clearCache(any());
+            verify(bookingEventOutbox).record(BookingEventType.BOOKING_CREATED, testBooking);
         }
     }
 
@@ -224,9 +431,9 @@ class BookingServiceTest {
     @DisplayName("Should throw BusinessValidationException when room is not available")
     void shouldThrowBusinessValidationExceptionWhenRoomNotAvailable() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-        when(roomRepository.findOneAvailableRoom(any(), any(), any(), any()))
-            .thenReturn(Optional.empty());
+        when(roomRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testRoom));
+        when(bookingRepository.existsOverlappingBooking(1L, bookingRequestDTO.getCheckedInDate(),
+            bookingRequestDTO.getCheckedOutDate())).thenReturn(true);
 
         // When & Then
         assertThatThrownBy(() -> bookingService.create(bookingRequestDTO))
@@ -266,6 +473,7 @@ class BookingServiceTest {
         // Given
         Long bookingId = 1L;
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+        when(roomRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testRoom));
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
         when(bookingMapper.toResponseDTO(testBooking)).thenReturn(bookingResponseDTO);
 
@@ -280,6 +488,57 @@ class BookingServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(bookingRepository).save(any(Booking.class));
+            verify(bookingRepository, never()).existsOverlappingBookingExcluding(any(), any(), any(), any());
+            verify(availabilityCache, times(1)).evictOverlapping(any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict availability for both the old and the new stay when dates move")
+    void shouldEvictOldAndNewStayWhenDatesMove() {
+        // Given
+        Long bookingId = 1L;
+        LocalDate oldCheckIn = testBooking.getCheckedInDate();
+        LocalDate oldCheckOut = testBooking.getCheckedOutDate();
+        bookingRequestDTO.setCheckedInDate(LocalDate.now().plusDays(20));
+        bookingRequestDTO.setCheckedOutDate(LocalDate.now().plusDays(22));
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+        when(roomRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testRoom));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
+            mockedSecurityUtils.when(SecurityUtils::isAuthenticated).thenReturn(false);
+
+            // When
+            bookingService.update(bookingId, bookingRequestDTO);
+
+            // Then
+            verify(availabilityCache).evictOverlapping(oldCheckIn, oldCheckOut);
+            verify(availabilityCache).evictOverlapping(bookingRequestDTO.getCheckedInDate(), bookingRequestDTO.getCheckedOutDate());
+            verify(cacheMonitor).evictCacheEntry(BOOKING_DETAILS_CACHE, bookingId);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject update that moves dates onto another booking in the same room")
+    void shouldRejectUpdateWhenNewDatesOverlapAnotherBooking() {
+        // Given
+        Long bookingId = 1L;
+        bookingRequestDTO.setCheckedInDate(LocalDate.now().plusDays(2));
+        bookingRequestDTO.setCheckedOutDate(LocalDate.now().plusDays(5));
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
+        when(roomRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testRoom));
+        when(bookingRepository.existsOverlappingBookingExcluding(1L, bookingRequestDTO.getCheckedInDate(),
+            bookingRequestDTO.getCheckedOutDate(), bookingId)).thenReturn(true);
+
+        try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
+            mockedSecurityUtils.when(SecurityUtils::isAuthenticated).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> bookingService.update(bookingId, bookingRequestDTO))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("Room is not available");
+            verify(bookingRepository, never()).save(any(Booking.class));
         }
     }
 
@@ -301,6 +560,7 @@ class BookingServiceTest {
         // Then
         assertThat(result).isNotNull();
         verify(bookingRepository).save(testBooking);
+        verify(bookingEventOutbox).record(BookingEventType.BOOKING_STATUS_CHANGED, testBooking, BookingStatus.BOOKED);
     }
 
     @Test
@@ -338,6 +598,8 @@ class BookingServiceTest {
 
             // Then
             verify(bookingRepository).deleteById(bookingId);
+            verify(cacheMonitor).evictCacheEntry(BOOKING_DETAILS_CACHE, bookingId);
+            verify(bookingEventOutbox).record(BookingEventType.BOOKING_DELETED, testBooking);
         }
     }
 
@@ -365,8 +627,9 @@ class BookingServiceTest {
     @DisplayName("Should get all bookings (legacy method)")
     void shouldGetAllBookingsLegacyMethod() {
         // Given
-        when(bookingRepository.findAll()).thenReturn(List.of(testBooking));
-        when(bookingMapper.toResponseDTO(testBooking)).thenReturn(bookingResponseDTO);
+        BookingSummaryProjection summary = mock(BookingSummaryProjection.class);
+        when(bookingRepository.findAllSummaries()).thenReturn(List.of(summary));
+        when(bookingMapper.toResponseDTO(summary)).thenReturn(bookingResponseDTO);
 
         // When
         List<BookingResponseDTO> result = bookingService.getAll();
@@ -375,7 +638,11 @@ class BookingServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(1L);
         
-        verify(bookingRepository).findAll();
-        verify(bookingMapper).toResponseDTO(testBooking);
+        verify(bookingRepository).findAllSummaries();
+        verify(bookingMapper).toResponseDTO(summary);
+    }
+
+    private BookingSummaryProjection summaryRow(Long id, LocalDate checkIn) {
+        return new BookingSummaryRow(id, "John", "Doe", checkIn, checkIn.plusDays(2), 2, 0, 1L, 101, BookingStatus.BOOKED, "user123");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.config.CacheConfig.CacheWarmer;
+import com.fadhliazhar.booking_hotel.dto.booking.BookingResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.booking.CachedBooking;
+import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
+import com.fadhliazhar.booking_hotel.mapper.BookingMapper;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingSummaryProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.fadhliazhar.booking_hotel.config.CacheConfig.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the startup cache warm-up pipeline
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheWarmUpService Tests")
+class CacheWarmUpServiceTest {
+
+    @Mock
+    private AmenityTypeService amenityTypeService;
+
+    @Mock
+    private ServiceTypeService serviceTypeService;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheWarmUpService cacheWarmUpService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        cacheWarmUpService = new CacheWarmUpService(new CacheWarmer(cacheManager), amenityTypeService,
+                serviceTypeService, roomService, bookingRepository, bookingMapper, meterRegistry);
+        ReflectionTestUtils.setField(cacheWarmUpService, "parallelism", 2);
+        ReflectionTestUtils.setField(cacheWarmUpService, "batchSize", 2);
+        ReflectionTestUtils.setField(cacheWarmUpService, "timeout", Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Should load every hot data set into its cache, paging bookings by id")
+    void shouldWarmAllCaches() {
+        when(roomService.getAll()).thenReturn(List.of(room(10L), room(11L)));
+        BookingSummaryProjection first = bookingRow(100L);
+        BookingSummaryProjection second = bookingRow(101L);
+        BookingSummaryProjection third = bookingRow(102L);
+        when(bookingRepository.findActiveSummariesEndingAfter(any(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(bookingRepository.findActiveSummariesEndingAfter(any(), eq(101L), any(Pageable.class)))
+                .thenReturn(List.of(third));
+        when(bookingMapper.toResponseDTO(any(BookingSummaryProjection.class)))
+                .thenAnswer(invocation -> booking(((BookingSummaryProjection) invocation.getArgument(0)).getId()));
+
+        boolean completed = cacheWarmUpService.warmUp();
+
+        assertThat(completed).isTrue();
+        verify(amenityTypeService).catalog();
+        verify(serviceTypeService).catalog();
+        assertThat(cacheManager.getCache(ROOMS_CACHE).get(11L)).isNotNull();
+        CachedBooking warmed = cacheManager.getCache(BOOKING_DETAILS_CACHE).get(102L, CachedBooking.class);
+        assertThat(warmed.booking().getId()).isEqualTo(102L);
+        assertThat(warmed.userId()).isEqualTo("user-102");
+        assertThat(meterRegistry.get("cache.warmup.entries").tag("cache", BOOKING_DETAILS_CACHE).counter().count())
+                .isEqualTo(3.0);
+        assertThat(meterRegistry.get("cache.warmup.duration").tag("outcome", "completed").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep entries another node already cached")
+    void shouldNotOverwriteExistingEntries() {
+        RoomResponseDTO cached = room(10L);
+        cacheManager.getCache(ROOMS_CACHE).put(10L, cached);
+        when(roomService.getAll()).thenReturn(List.of(room(10L), room(11L)));
+
+        cacheWarmUpService.warmUp();
+
+        assertThat(cacheManager.getCache(ROOMS_CACHE).get(10L).get()).isSameAs(cached);
+        assertThat(meterRegistry.get("cache.warmup.entries").tag("cache", ROOMS_CACHE).counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should report failure and let the application start with cold caches")
+    void shouldReportFailedWarmUp() {
+        when(roomService.getAll()).thenThrow(new IllegalStateException("database unavailable"));
+
+        boolean completed = cacheWarmUpService.warmUp();
+
+        assertThat(completed).isFalse();
+        assertThat(meterRegistry.get("cache.warmup.duration").tag("outcome", "failed").timer().count())
+                .isEqualTo(1);
+    }
+
+    private RoomResponseDTO room(Long id) {
+        RoomResponseDTO dto = new RoomResponseDTO();
+        dto.setId(id);
+        return dto;
+    }
+
+    private BookingResponseDTO booking(Long id) {
+        BookingResponseDTO dto = new BookingResponseDTO();
+        dto.setId(id);
+        return dto;
+    }
+
+    private BookingSummaryProjection bookingRow(Long id) {
+        BookingSummaryProjection row = mock(BookingSummaryProjection.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getUserId()).thenReturn("user-" + id);
+        return row;
+    }
+}
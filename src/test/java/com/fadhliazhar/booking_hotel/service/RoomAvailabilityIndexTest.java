@@ -0,0 +1,264 @@
+package com.fadhliazhar.booking_hotel.service;
+
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilitySearchRequestDTO;
+import com.fadhliazhar.booking_hotel.model.Booking;
+import com.fadhliazhar.booking_hotel.model.BookingStatus;
+import com.fadhliazhar.booking_hotel.model.Room;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
+import com.fadhliazhar.booking_hotel.repository.RoomRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingStayChangeProjection;
+import com.fadhliazhar.booking_hotel.repository.projection.BookingStayProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory room availability index
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomAvailabilityIndex Tests")
+class RoomAvailabilityIndexTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        Room cheapRoom = room(1L, "100.00", 2, 0);
+        Room familyRoom = room(2L, "200.00", 2, 2);
+        Room suite = room(3L, "300.00", 4, 2);
+
+        when(roomRepository.findAll()).thenReturn(List.of(suite, familyRoom, cheapRoom));
+        when(bookingRepository.findActiveStaysEndingAfter(any())).thenReturn(List.of(
+                stay(10L, 1L, today.plusDays(1), today.plusDays(3))
+        ));
+
+        roomAvailabilityIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should return fitting rooms ordered by price")
+    void shouldReturnFittingRoomsOrderedByPrice() {
+        List<Long> result = roomAvailabilityIndex.findAvailableRoomIds(2, 0, today.plusDays(5), today.plusDays(6));
+
+        assertThat(result).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should exclude rooms that cannot fit the guests")
+    void shouldExcludeRoomsThatCannotFitGuests() {
+        List<Long> result = roomAvailabilityIndex.findAvailableRoomIds(3, 1, today.plusDays(5), today.plusDays(6));
+
+        assertThat(result).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should exclude rooms with overlapping stays but allow back-to-back stays")
+    void shouldExcludeOverlappingStays() {
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(2, 0, today.plusDays(2), today.plusDays(4)))
+                .containsExactly(2L, 3L);
+        assertThat(roomAvailabilityIndex.isAvailable(1L, today, today.plusDays(1))).isTrue();
+        assertThat(roomAvailabilityIndex.isAvailable(1L, today.plusDays(3), today.plusDays(5))).isTrue();
+        assertThat(roomAvailabilityIndex.isAvailable(1L, today, today.plusDays(10))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should apply price and floor filters and seek past the keyset position")
+    void shouldApplyFiltersAndSeek() {
+        RoomAvailabilitySearchRequestDTO criteria = new RoomAvailabilitySearchRequestDTO();
+        criteria.setNumberOfAdults(1);
+        criteria.setNumberOfChildren(0);
+        criteria.setCheckInDate(today.plusDays(5));
+        criteria.setCheckOutDate(today.plusDays(6));
+        criteria.setMaxPrice(new BigDecimal("250.00"));
+
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(criteria, null, null, 10)).containsExactly(1L, 2L);
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(criteria, new BigDecimal("100.00"), 1L, 10)).containsExactly(2L);
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(criteria, null, null, 1)).containsExactly(1L);
+
+        criteria.setMaxPrice(null);
+        criteria.setFloorNumber(3);
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(criteria, null, null, 10)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should match room types case-insensitively and leave out unpriced rooms")
+    void shouldMatchRoomTypeIgnoringCaseAndSkipUnpricedRooms() {
+        Room deluxe = room(4L, "150.00", 2, 0);
+        deluxe.setRoomType("Deluxe");
+        Room unpriced = room(5L, "1.00", 2, 0);
+        unpriced.setRoomPrice(null);
+        roomAvailabilityIndex.onRoomSaved(deluxe);
+        roomAvailabilityIndex.onRoomSaved(unpriced);
+
+        RoomAvailabilitySearchRequestDTO criteria = new RoomAvailabilitySearchRequestDTO();
+        criteria.setNumberOfAdults(1);
+        criteria.setNumberOfChildren(0);
+        criteria.setCheckInDate(today.plusDays(5));
+        criteria.setCheckOutDate(today.plusDays(6));
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(criteria, null, null, 10)).containsExactly(1L, 4L, 2L, 3L);
+
+        criteria.setRoomType("deluxe");
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(criteria, null, null, 10)).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should track booking writes and release cancelled bookings")
+    void shouldTrackBookingWrites() {
+        Booking booking = booking(11L, 2L, today.plusDays(5), today.plusDays(7), BookingStatus.BOOKED);
+        roomAvailabilityIndex.onBookingSaved(booking);
+        assertThat(roomAvailabilityIndex.isAvailable(2L, today.plusDays(6), today.plusDays(8))).isFalse();
+
+        booking.setBookingStatus(BookingStatus.CANCELED);
+        roomAvailabilityIndex.onBookingSaved(booking);
+        assertThat(roomAvailabilityIndex.isAvailable(2L, today.plusDays(6), today.plusDays(8))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should move a booking when its room changes")
+    void shouldMoveBookingWhenRoomChanges() {
+        roomAvailabilityIndex.onBookingSaved(booking(10L, 3L, today.plusDays(1), today.plusDays(3), BookingStatus.BOOKED));
+
+        assertThat(roomAvailabilityIndex.isAvailable(1L, today.plusDays(1), today.plusDays(3))).isTrue();
+        assertThat(roomAvailabilityIndex.isAvailable(3L, today.plusDays(1), today.plusDays(3))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should forget deleted bookings and rooms")
+    void shouldForgetDeletedBookingsAndRooms() {
+        roomAvailabilityIndex.onBookingDeleted(10L);
+        roomAvailabilityIndex.onRoomDeleted(3L);
+
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(2, 0, today.plusDays(1), today.plusDays(3)))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should keep stays when a room is updated")
+    void shouldKeepStaysWhenRoomUpdated() {
+        roomAvailabilityIndex.onRoomSaved(room(1L, "500.00", 2, 0));
+
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(2, 0, today.plusDays(5), today.plusDays(6)))
+                .containsExactly(2L, 3L, 1L);
+        assertThat(roomAvailabilityIndex.isAvailable(1L, today.plusDays(1), today.plusDays(2))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reload a single room from the database")
+    void shouldRefreshSingleRoom() {
+        when(bookingRepository.findActiveStaysByRoomEndingAfter(eq(2L), any())).thenReturn(List.of(
+                stay(20L, 2L, today.plusDays(5), today.plusDays(9))
+        ));
+
+        roomAvailabilityIndex.refreshRoom(2L);
+
+        assertThat(roomAvailabilityIndex.isAvailable(2L, today.plusDays(8), today.plusDays(9))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should pick up rooms and stays written on other nodes on rebuild, serving the old index meanwhile")
+    void shouldSwapInRebuiltIndex() {
+        when(roomRepository.findAll()).thenAnswer(invocation -> {
+            assertThat(roomAvailabilityIndex.findAvailableRoomIds(2, 0, today.plusDays(5), today.plusDays(6)))
+                    .containsExactly(1L, 2L, 3L);
+            return List.of(room(1L, "100.00", 2, 0), room(2L, "200.00", 2, 2), room(4L, "50.00", 2, 0));
+        });
+        when(bookingRepository.findActiveStaysEndingAfter(any())).thenReturn(List.of(
+                stay(11L, 2L, today.plusDays(1), today.plusDays(3))
+        ));
+
+        roomAvailabilityIndex.rebuild();
+
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(2, 0, today.plusDays(1), today.plusDays(3)))
+                .containsExactly(4L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should apply only the rooms and bookings written since the last sync, including other nodes' writes")
+    void shouldSyncRecentChanges() {
+        ReflectionTestUtils.setField(roomAvailabilityIndex, "syncOverlap", Duration.ofMinutes(2));
+        Room newRoom = room(6L, "120.00", 2, 0);
+        when(roomRepository.findByUpdatedAtAfter(any())).thenReturn(List.of(room(2L, "50.00", 2, 2), newRoom));
+        when(bookingRepository.findActiveStaysByRoomEndingAfter(eq(6L), any())).thenReturn(List.of(
+                stay(20L, 6L, today.plusDays(1), today.plusDays(2))
+        ));
+        when(bookingRepository.findStaysUpdatedAfter(any())).thenReturn(List.of(
+                stayChange(10L, 1L, today.plusDays(1), today.plusDays(3), BookingStatus.CANCELED),
+                stayChange(11L, 3L, today.plusDays(1), today.plusDays(3), BookingStatus.BOOKED)
+        ));
+
+        roomAvailabilityIndex.syncChanges();
+
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(2, 0, today.plusDays(1), today.plusDays(3)))
+                .containsExactly(2L, 1L);
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(2, 0, today.plusDays(5), today.plusDays(6)))
+                .containsExactly(2L, 1L, 6L, 3L);
+        verify(roomRepository, times(1)).findAll();
+        verify(bookingRepository).findStaysUpdatedAfter(
+                argThat(since -> since.isBefore(LocalDateTime.now().minusMinutes(1))));
+    }
+
+    private Room room(Long id, String price, int adults, int children) {
+        Room room = new Room();
+        room.setId(id);
+        room.setRoomNumber(100 + id.intValue());
+        room.setRoomPrice(new BigDecimal(price));
+        room.setAdultCapacity(adults);
+        room.setChildrenCapacity(children);
+        room.setFloorNumber(id.intValue());
+        return room;
+    }
+
+    private Booking booking(Long id, Long roomId, LocalDate checkIn, LocalDate checkOut, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setRoomId(roomId);
+        booking.setCheckedInDate(checkIn);
+        booking.setCheckedOutDate(checkOut);
+        booking.setBookingStatus(status);
+        return booking;
+    }
+
+    private BookingStayProjection stay(Long id, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new BookingStayProjection() {
+            public Long getId() { return id; }
+            public Long getRoomId() { return roomId; }
+            public LocalDate getCheckedInDate() { return checkIn; }
+            public LocalDate getCheckedOutDate() { return checkOut; }
+        };
+    }
+
+    private BookingStayChangeProjection stayChange(Long id, Long roomId, LocalDate checkIn, LocalDate checkOut,
+                                                   BookingStatus status) {
+        return new BookingStayChangeProjection() {
+            public Long getId() { return id; }
+            public Long getRoomId() { return roomId; }
+            public LocalDate getCheckedInDate() { return checkIn; }
+            public LocalDate getCheckedOutDate() { return checkOut; }
+            public BookingStatus getBookingStatus() { return status; }
+        };
+    }
+}
@@ -1,22 +1,30 @@
 package com.fadhliazhar.booking_hotel.service;
 
+import com.fadhliazhar.booking_hotel.config.CacheConfig;
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityPageResponseDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilityResponseDTO;
+import com.fadhliazhar.booking_hotel.dto.room.RoomAvailabilitySearchRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomRequestDTO;
 import com.fadhliazhar.booking_hotel.dto.room.RoomResponseDTO;
 import com.fadhliazhar.booking_hotel.exception.BusinessValidationException;
 import com.fadhliazhar.booking_hotel.exception.ResourceNotFoundException;
 import com.fadhliazhar.booking_hotel.mapper.RoomMapper;
 import com.fadhliazhar.booking_hotel.model.Room;
+import com.fadhliazhar.booking_hotel.repository.BookingRepository;
 import com.fadhliazhar.booking_hotel.repository.RoomAmenityRepository;
 import com.fadhliazhar.booking_hotel.repository.RoomRepository;
+import com.fadhliazhar.booking_hotel.repository.projection.RoomSummaryProjection;
+import com.fadhliazhar.booking_hotel.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -45,9 +53,20 @@ class RoomServiceTest {
     @Mock
     private RoomAmenityRepository roomAmenityRepository;
 
+    @Mock
+    private BookingRepository bookingRepository;
+
     @Mock
     private RoomMapper roomMapper;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Spy
+    private AvailabilityCache availabilityCache =
+            new AvailabilityCache(new ConcurrentMapCacheManager(
+                    CacheConfig.AVAILABILITY_VERSIONS_CACHE, CacheConfig.AVAILABLE_ROOM_RESPONSES_CACHE));
+
     @InjectMocks
     private RoomService roomService;
 
@@ -104,8 +123,8 @@ class RoomServiceTest {
     @DisplayName("Should get all rooms successfully")
     void shouldGetAllRoomsSuccessfully() {
         // Given
-        when(roomRepository.findAll(Sort.by("roomNumber"))).thenReturn(List.of(testRoom));
-        when(roomMapper.toResponseDTOs(anyList())).thenReturn(List.of(roomResponseDTO));
+        when(roomRepository.findAllSummaries(Sort.by("roomNumber"))).thenReturn(List.of(mock(RoomSummaryProjection.class)));
+        when(roomMapper.toSummaryResponseDTOs(anyList())).thenReturn(List.of(roomResponseDTO));
 
         // When
         List<RoomResponseDTO> result = roomService.getAll();
@@ -115,8 +134,8 @@ class RoomServiceTest {
         assertThat(result.get(0).getId()).isEqualTo(1L);
         assertThat(result.get(0).getRoomNumber()).isEqualTo(101);
         
-        verify(roomRepository).findAll(Sort.by("roomNumber"));
-        verify(roomMapper).toResponseDTOs(anyList());
+        verify(roomRepository).findAllSummaries(Sort.by("roomNumber"));
+        verify(roomMapper).toSummaryResponseDTOs(anyList());
     }
 
     @Test
@@ -153,7 +172,7 @@ class RoomServiceTest {
             .hasMessageContaining("Room with ID " + roomId + " not found");
         
         verify(roomRepository).findById(roomId);
-        verify(roomMapper, never()).toResponseDTO(any());
+        verify(roomMapper, never()).toResponseDTO(any(Room.class));
     }
 
     @Test
@@ -210,6 +229,101 @@ class RoomServiceTest {
         verify(roomMapper, never()).toRoomAvailabilityResponseDTO(any());
     }
 
+    @Test
+    @DisplayName("Should invalidate cached availability responses when a room changes")
+    void shouldInvalidateAvailabilityWhenRoomChanges() {
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
+        String key = availabilityCache.keyFor(availabilityRequestDTO);
+
+        roomService.update(1L, roomRequestDTO);
+
+        assertThat(availabilityCache.keyFor(availabilityRequestDTO)).isNotEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("Should search available rooms from the index and return a next cursor")
+    void shouldSearchAvailableRoomsFromIndex() {
+        // Given
+        Room secondRoom = new Room();
+        secondRoom.setId(2L);
+        secondRoom.setRoomNumber(102);
+        secondRoom.setRoomPrice(new BigDecimal("180.00"));
+        secondRoom.setAdultCapacity(2);
+        secondRoom.setChildrenCapacity(1);
+
+        RoomAvailabilitySearchRequestDTO searchRequest = searchRequest(1);
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.findAvailableRoomIds(searchRequest, null, null, 2)).thenReturn(List.of(1L, 2L));
+        when(bookingRepository.findRoomIdsWithOverlappingBooking(anyCollection(), any(), any())).thenReturn(List.of());
+        when(roomRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(secondRoom, testRoom));
+        when(roomMapper.toRoomAvailabilityResponseDTO(testRoom)).thenReturn(availabilityResponseDTO);
+
+        // When
+        RoomAvailabilityPageResponseDTO result = roomService.searchAvailableRooms(searchRequest);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(availabilityResponseDTO);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(CursorUtil.decode(result.getNextCursor(), 2)).containsExactly("150.00", "1");
+        verify(roomRepository, never()).searchAvailableRooms(anyInt(), anyInt(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should refresh index rooms rejected by the database and search again")
+    void shouldRefreshRejectedIndexCandidates() {
+        // Given
+        RoomAvailabilitySearchRequestDTO searchRequest = searchRequest(20);
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.findAvailableRoomIds(searchRequest, null, null, 21))
+                .thenReturn(List.of(2L, 1L))
+                .thenReturn(List.of(1L));
+        when(bookingRepository.findRoomIdsWithOverlappingBooking(anyCollection(), any(), any()))
+                .thenReturn(List.of(2L))
+                .thenReturn(List.of());
+        when(roomRepository.findAllById(List.of(1L))).thenReturn(List.of(testRoom));
+        when(roomMapper.toRoomAvailabilityResponseDTO(testRoom)).thenReturn(availabilityResponseDTO);
+
+        // When
+        RoomAvailabilityPageResponseDTO result = roomService.searchAvailableRooms(searchRequest);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(availabilityResponseDTO);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        verify(roomAvailabilityIndex).refreshRoom(2L);
+    }
+
+    @Test
+    @DisplayName("Should search available rooms with the keyset query when the index is not loaded")
+    void shouldSearchAvailableRoomsFromDatabaseWithCursor() {
+        // Given
+        RoomAvailabilitySearchRequestDTO searchRequest = searchRequest(20);
+        searchRequest.setCursor(CursorUtil.encode("120.00", 7L));
+        when(roomRepository.searchAvailableRooms(2, 0, searchRequest.getCheckInDate(), searchRequest.getCheckOutDate(),
+                null, null, null, null, new BigDecimal("120.00"), 7L, 21)).thenReturn(List.of(testRoom));
+        when(roomMapper.toRoomAvailabilityResponseDTO(testRoom)).thenReturn(availabilityResponseDTO);
+
+        // When
+        RoomAvailabilityPageResponseDTO result = roomService.searchAvailableRooms(searchRequest);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted price range")
+    void shouldRejectInvertedPriceRange() {
+        RoomAvailabilitySearchRequestDTO searchRequest = searchRequest(20);
+        searchRequest.setMinPrice(new BigDecimal("300.00"));
+        searchRequest.setMaxPrice(new BigDecimal("100.00"));
+
+        assertThatThrownBy(() -> roomService.searchAvailableRooms(searchRequest))
+            .isInstanceOf(BusinessValidationException.class)
+            .hasMessageContaining("Minimum price cannot be greater than maximum price");
+    }
+
     @Test
     @DisplayName("Should create room successfully")
     void shouldCreateRoomSuccessfully() {
@@ -351,8 +465,8 @@ class RoomServiceTest {
     @DisplayName("Should handle empty room list")
     void shouldHandleEmptyRoomList() {
         // Given
-        when(roomRepository.findAll(Sort.by("roomNumber"))).thenReturn(List.of());
-        when(roomMapper.toResponseDTOs(anyList())).thenReturn(List.of());
+        when(roomRepository.findAllSummaries(Sort.by("roomNumber"))).thenReturn(List.of());
+        when(roomMapper.toSummaryResponseDTOs(anyList())).thenReturn(List.of());
 
         // When
         List<RoomResponseDTO> result = roomService.getAll();
@@ -360,8 +474,8 @@ class RoomServiceTest {
         // Then
         assertThat(result).isEmpty();
         
-        verify(roomRepository).findAll(Sort.by("roomNumber"));
-        verify(roomMapper).toResponseDTOs(anyList());
+        verify(roomRepository).findAllSummaries(Sort.by("roomNumber"));
+        verify(roomMapper).toSummaryResponseDTOs(anyList());
     }
 
     @Test
@@ -398,4 +512,14 @@ class RoomServiceTest {
         assertThat(availabilityRequestDTO.getCheckOutDate()).isNotNull();
         assertThat(availabilityRequestDTO.getCheckOutDate()).isAfter(availabilityRequestDTO.getCheckInDate());
     }
-}
\ No newline at end of file
+
+    private RoomAvailabilitySearchRequestDTO searchRequest(int size) {
+        RoomAvailabilitySearchRequestDTO searchRequest = new RoomAvailabilitySearchRequestDTO();
+        searchRequest.setNumberOfAdults(2);
+        searchRequest.setNumberOfChildren(0);
+        searchRequest.setCheckInDate(LocalDate.now().plusDays(1));
+        searchRequest.setCheckOutDate(LocalDate.now().plusDays(3));
+        searchRequest.setSize(size);
+        return searchRequest;
+    }
+}